@@ -0,0 +1,66 @@
+package lazy;
+
+import lazy.nodes.ColorPickerFolderNode;
+
+/**
+ * Pre-resolved reference to a color picker control element.
+ * Obtained once with LazyGui.colorPickerHandle() and then read repeatedly without any path lookups.
+ * Use hex() in hot loops, because it does not allocate a new PickerColor object like get() does.
+ * @see SliderHandle
+ * @see LazyGui#colorPickerHandle(String, int)
+ */
+public class ColorPickerHandle {
+    private final ColorPickerFolderNode node;
+    private final int defaultHex;
+    // the saved color when the gui is frozen, there is no node then
+    private final PickerColor frozenColor;
+
+    ColorPickerHandle(ColorPickerFolderNode node, int defaultHex) {
+        this.node = node;
+        this.defaultHex = defaultHex;
+        this.frozenColor = null;
+    }
+
+    ColorPickerHandle(PickerColor frozenColor) {
+        this.node = null;
+        this.defaultHex = frozenColor.hex;
+        this.frozenColor = frozenColor;
+    }
+
+    /**
+     * Gets the current color as a hex integer, also works with processing 'color' type.
+     * @return current hex value of the color picker
+     */
+    public int hex() {
+        if (node == null) {
+            return defaultHex;
+        }
+        return node.getHex();
+    }
+
+    /**
+     * Gets the current color with both its hex and hsba values.
+     * @return current hex and hsba values in a new PickerColor object
+     */
+    public PickerColor get() {
+        if (frozenColor != null) {
+            return frozenColor;
+        }
+        if (node == null) {
+            return new PickerColor(defaultHex);
+        }
+        return node.getColor();
+    }
+
+    /**
+     * Sets the color picker to a given hex value without requiring user interaction.
+     * @param hex hex color to set, also works with processing 'color' type
+     */
+    public void set(int hex) {
+        if (node == null) {
+            return;
+        }
+        node.setHex(hex);
+        node.loadValuesFromHex(false);
+    }
+}
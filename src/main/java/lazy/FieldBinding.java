@@ -0,0 +1,174 @@
+package lazy;
+
+import lazy.nodes.*;
+import processing.core.PVector;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+
+import static processing.core.PApplet.println;
+
+/**
+ * One public field of a user object bound to a control element with LazyGui.bind().
+ * The field is turned into a MethodHandle once when binding, after that syncing only compares the node version
+ * with the last synced one and writes the value into the field when it changed, without any reflection or boxing.
+ */
+abstract class FieldBinding {
+    private final AbstractNode node;
+    private final Field field;
+    protected final Object target;
+    private long syncedVersion = -1;
+    private boolean printedSyncError = false;
+
+    FieldBinding(AbstractNode node, Field field, Object target) {
+        this.node = node;
+        this.field = field;
+        this.target = target;
+    }
+
+    void syncIfChanged() {
+        long nodeVersion = node.getVersion();
+        if (nodeVersion == syncedVersion) {
+            return;
+        }
+        syncedVersion = nodeVersion;
+        try {
+            writeValueToField();
+        } catch (Throwable t) {
+            if (!printedSyncError) {
+                println("Could not write the value of \"" + node.path + "\" into the field " + field.getName() + ": " + t);
+                printedSyncError = true;
+            }
+        }
+    }
+
+    protected abstract void writeValueToField() throws Throwable;
+
+    /**
+     * Gets a setter for the field that takes the target as an Object, so that invokeExact() can be called without knowing the target class.
+     */
+    static MethodHandle findSetter(Field field, Class<?> valueType) throws IllegalAccessException {
+        field.setAccessible(true);
+        return MethodHandles.lookup().unreflectSetter(field)
+                .asType(MethodType.methodType(void.class, Object.class, valueType));
+    }
+
+    static MethodHandle findGetter(Field field, Class<?> valueType) throws IllegalAccessException {
+        field.setAccessible(true);
+        return MethodHandles.lookup().unreflectGetter(field)
+                .asType(MethodType.methodType(valueType, Object.class));
+    }
+
+    static class FloatBinding extends FieldBinding {
+        private final SliderNode slider;
+        private final MethodHandle setter;
+
+        FloatBinding(SliderNode slider, Field field, Object target) throws IllegalAccessException {
+            super(slider, field, target);
+            this.slider = slider;
+            this.setter = findSetter(field, float.class);
+        }
+
+        @Override
+        protected void writeValueToField() throws Throwable {
+            setter.invokeExact(target, slider.getValueFloat());
+        }
+    }
+
+    static class IntBinding extends FieldBinding {
+        private final SliderIntNode slider;
+        private final MethodHandle setter;
+
+        IntBinding(SliderIntNode slider, Field field, Object target) throws IllegalAccessException {
+            super(slider, field, target);
+            this.slider = slider;
+            this.setter = findSetter(field, int.class);
+        }
+
+        @Override
+        protected void writeValueToField() throws Throwable {
+            setter.invokeExact(target, slider.getIntValue());
+        }
+    }
+
+    static class ColorBinding extends FieldBinding {
+        private final ColorPickerFolderNode picker;
+        private final MethodHandle setter;
+
+        ColorBinding(ColorPickerFolderNode picker, Field field, Object target) throws IllegalAccessException {
+            super(picker, field, target);
+            this.picker = picker;
+            this.setter = findSetter(field, int.class);
+        }
+
+        @Override
+        protected void writeValueToField() throws Throwable {
+            setter.invokeExact(target, picker.getHex());
+        }
+    }
+
+    static class BooleanBinding extends FieldBinding {
+        private final ToggleNode toggle;
+        private final MethodHandle setter;
+
+        BooleanBinding(ToggleNode toggle, Field field, Object target) throws IllegalAccessException {
+            super(toggle, field, target);
+            this.toggle = toggle;
+            this.setter = findSetter(field, boolean.class);
+        }
+
+        @Override
+        protected void writeValueToField() throws Throwable {
+            setter.invokeExact(target, toggle.getValueBoolean());
+        }
+    }
+
+    static class StringBinding extends FieldBinding {
+        private final TextNode text;
+        private final MethodHandle setter;
+
+        StringBinding(TextNode text, Field field, Object target) throws IllegalAccessException {
+            super(text, field, target);
+            this.text = text;
+            this.setter = findSetter(field, String.class);
+        }
+
+        @Override
+        protected void writeValueToField() throws Throwable {
+            setter.invokeExact(target, text.getStringValue());
+        }
+    }
+
+    /**
+     * Copies the plot values into the PVector already in the field, so any reference to it held by the sketch stays valid.
+     * Only creates a new PVector when the field is null.
+     */
+    static class VectorBinding extends FieldBinding {
+        private final PlotFolderNode plot;
+        private final MethodHandle getter;
+        private final MethodHandle setter;
+
+        VectorBinding(PlotFolderNode plot, Field field, Object target) throws IllegalAccessException {
+            super(plot, field, target);
+            this.plot = plot;
+            this.getter = findGetter(field, PVector.class);
+            this.setter = Modifier.isFinal(field.getModifiers()) ? null : findSetter(field, PVector.class);
+        }
+
+        @Override
+        protected void writeValueToField() throws Throwable {
+            PVector vector = (PVector) getter.invokeExact(target);
+            if (vector == null) {
+                if (setter == null) {
+                    return;
+                }
+                vector = new PVector();
+                setter.invokeExact(target, vector);
+            }
+            vector.set(plot.getX(), plot.getY(), plot.getZ());
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package lazy;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import lazy.utils.NodePaths;
+import processing.core.PVector;
+
+import java.awt.*;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import static processing.core.PApplet.min;
+import static processing.core.PApplet.unhex;
+
+/**
+ * Read-only copy of every control element value found in a saved json tree, used by LazyGui in its frozen mode.
+ * Values are kept in one primitive array per type with the array index looked up by path,
+ * there are no nodes, windows or listeners behind it, so nothing about it needs to be updated or drawn.
+ */
+class FrozenSnapshot {
+    private final Map<String, Integer> floatIndexByPath = new HashMap<>();
+    private final Map<String, Integer> booleanIndexByPath = new HashMap<>();
+    private final Map<String, Integer> hexIndexByPath = new HashMap<>();
+    private final Map<String, Integer> stringIndexByPath = new HashMap<>();
+    private final Map<String, FolderIndices> folderIndicesByPath = new HashMap<>();
+    private float[] floats = new float[64];
+    private boolean[] booleans = new boolean[64];
+    private int[] hexes = new int[16];
+    private PickerColor[] colors;
+    private String[] strings = new String[16];
+
+    /**
+     * Indices of the sliders, toggles and colors directly inside one folder, in the order they were saved in, for the batch reads.
+     */
+    private static class FolderIndices {
+        final int[] sliders;
+        final int[] toggles;
+        final int[] hexes;
+
+        FolderIndices(int[] sliders, int[] toggles, int[] hexes) {
+            this.sliders = sliders;
+            this.toggles = toggles;
+            this.hexes = hexes;
+        }
+    }
+
+    FrozenSnapshot(JsonElement root) {
+        if (root != null) {
+            readRecursively(root.getAsJsonObject());
+        }
+        floats = Arrays.copyOf(floats, floatIndexByPath.size());
+        booleans = Arrays.copyOf(booleans, booleanIndexByPath.size());
+        hexes = Arrays.copyOf(hexes, hexIndexByPath.size());
+        colors = new PickerColor[hexes.length];
+        for (int i = 0; i < hexes.length; i++) {
+            colors[i] = toPickerColor(hexes[i]);
+        }
+        strings = Arrays.copyOf(strings, stringIndexByPath.size());
+    }
+
+    private void readRecursively(JsonObject node) {
+        String path = NodePaths.normalize(node.get("path").getAsString());
+        if (node.has("valueFloat")) {
+            int index = floatIndexByPath.size();
+            floats = ensureLength(floats, index);
+            floats[index] = node.get("valueFloat").getAsFloat();
+            floatIndexByPath.put(path, index);
+        }
+        if (node.has("valueBoolean")) {
+            int index = booleanIndexByPath.size();
+            booleans = ensureLength(booleans, index);
+            booleans[index] = node.get("valueBoolean").getAsBoolean();
+            booleanIndexByPath.put(path, index);
+        }
+        if (node.has("hexString")) {
+            int index = hexIndexByPath.size();
+            hexes = ensureLength(hexes, index);
+            hexes[index] = unhex(node.get("hexString").getAsString());
+            hexIndexByPath.put(path, index);
+        }
+        String text = node.has("stringValue") ? node.get("stringValue").getAsString() :
+                node.has("valueString") ? node.get("valueString").getAsString() : null;
+        if (text != null) {
+            int index = stringIndexByPath.size();
+            strings = ensureLength(strings, index);
+            strings[index] = text;
+            stringIndexByPath.put(path, index);
+        }
+        if (node.has("children")) {
+            int[] sliders = new int[0], toggles = new int[0], hexes = new int[0];
+            for (JsonElement childElement : node.get("children").getAsJsonArray()) {
+                JsonObject child = childElement.getAsJsonObject();
+                readRecursively(child);
+                String childPath = NodePaths.normalize(child.get("path").getAsString());
+                if (child.has("valueFloat")) {
+                    sliders = append(sliders, floatIndexByPath.get(childPath));
+                } else if (child.has("valueBoolean")) {
+                    toggles = append(toggles, booleanIndexByPath.get(childPath));
+                } else if (child.has("hexString")) {
+                    hexes = append(hexes, hexIndexByPath.get(childPath));
+                }
+            }
+            folderIndicesByPath.put(path, new FolderIndices(sliders, toggles, hexes));
+        }
+    }
+
+    private static int[] append(int[] array, int value) {
+        int[] appended = Arrays.copyOf(array, array.length + 1);
+        appended[array.length] = value;
+        return appended;
+    }
+
+    private static float[] ensureLength(float[] array, int index) {
+        return index < array.length ? array : Arrays.copyOf(array, array.length * 2);
+    }
+
+    private static boolean[] ensureLength(boolean[] array, int index) {
+        return index < array.length ? array : Arrays.copyOf(array, array.length * 2);
+    }
+
+    private static int[] ensureLength(int[] array, int index) {
+        return index < array.length ? array : Arrays.copyOf(array, array.length * 2);
+    }
+
+    private static String[] ensureLength(String[] array, int index) {
+        return index < array.length ? array : Arrays.copyOf(array, array.length * 2);
+    }
+
+    float getFloat(String path, float defaultValue) {
+        Integer index = floatIndexByPath.get(path);
+        return index == null ? defaultValue : floats[index];
+    }
+
+    boolean getBoolean(String path, boolean defaultValue) {
+        Integer index = booleanIndexByPath.get(path);
+        return index == null ? defaultValue : booleans[index];
+    }
+
+    /**
+     * Gets the same immutable PickerColor every time for a saved color, so reading it does not allocate.
+     */
+    PickerColor getColor(String path, int defaultHex) {
+        Integer index = hexIndexByPath.get(path);
+        return index == null ? toPickerColor(defaultHex) : colors[index];
+    }
+
+    // the frozen mode has no NormColorStore canvas to ask for the hsba values, java.awt computes the same ones
+    private static PickerColor toPickerColor(int hex) {
+        float[] hsb = Color.RGBtoHSB((hex >> 16) & 0xFF, (hex >> 8) & 0xFF, hex & 0xFF, null);
+        return new PickerColor(hex, hsb[0], hsb[1], hsb[2], ((hex >>> 24) & 0xFF) / 255f);
+    }
+
+    String getString(String path, String defaultValue) {
+        Integer index = stringIndexByPath.get(path);
+        return index == null ? defaultValue : strings[index];
+    }
+
+    /**
+     * Reads a plot from the saved values of its x, y and z sliders.
+     */
+    PVector getVector(String path, PVector defaultXYZ, boolean useZ) {
+        PVector defaults = defaultXYZ == null ? new PVector() : defaultXYZ;
+        return new PVector(
+                getFloat(path + "/x", defaults.x),
+                getFloat(path + "/y", defaults.y),
+                useZ ? getFloat(path + "/z", defaults.z) : 0
+        );
+    }
+
+    int slidersInto(String folderPath, float[] out) {
+        FolderIndices folder = folderIndicesByPath.get(folderPath);
+        if (folder == null) {
+            return 0;
+        }
+        int written = min(folder.sliders.length, out.length);
+        for (int i = 0; i < written; i++) {
+            out[i] = floats[folder.sliders[i]];
+        }
+        return written;
+    }
+
+    int togglesInto(String folderPath, boolean[] out) {
+        FolderIndices folder = folderIndicesByPath.get(folderPath);
+        if (folder == null) {
+            return 0;
+        }
+        int written = min(folder.toggles.length, out.length);
+        for (int i = 0; i < written; i++) {
+            out[i] = booleans[folder.toggles[i]];
+        }
+        return written;
+    }
+
+    int colorsInto(String folderPath, int[] out) {
+        FolderIndices folder = folderIndicesByPath.get(folderPath);
+        if (folder == null) {
+            return 0;
+        }
+        int written = min(folder.hexes.length, out.length);
+        for (int i = 0; i < written; i++) {
+            out[i] = hexes[folder.hexes[i]];
+        }
+        return written;
+    }
+}
@@ -11,6 +11,7 @@ import lazy.themes.ThemeStore;
 import lazy.themes.ThemeType;
 import lazy.utils.ContextLines;
 import lazy.utils.KeyCodes;
+import lazy.utils.NodePaths;
 import lazy.utils.SnapToGrid;
 import lazy.stores.JsonSaveStore;
 import lazy.windows.Window;
@@ -23,8 +24,11 @@ import processing.core.PVector;
 import java.awt.*;
 import java.io.File;
 import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
 import static lazy.stores.JsonSaveStore.*;
 import static lazy.stores.NodeTree.*;
@@ -49,13 +53,17 @@ public class LazyGui implements UserInputSubscriber {
     private static boolean hotkeyHideActive, hotkeyUndoActive, hotkeyRedoActive, hotkeyScreenshotActive,
             hotkeyCloseAllWindowsActive, hotkeySaveActive, hotkeyOpenSketchFolderActive;
 
-    ArrayList<String> pathPrefix = new ArrayList<>();
+    final PathPrefixStack pathPrefix = new PathPrefixStack();
+    private final List<FieldBinding> fieldBindings = new ArrayList<>();
     int stackSizeWarningLevel = 64;
     private boolean printedPushWarningAlready = false;
     private boolean printedPopWarningAlready = false;
 
     private PGraphics guiCanvas;
     FolderNode optionsNode;
+    private FrozenSnapshot frozenSnapshot = null;
+    private long optionsVersionDrawn = -1;
+    private boolean wasGuiHiddenWhenLastDrawn = false;
 
     private static long lastFrameMillis;
     static final long lastFrameMillisStuckLimit = 1000;
@@ -86,18 +94,95 @@ public class LazyGui implements UserInputSubscriber {
         app.registerMethod("draw", this);
     }
 
+    private LazyGui() {
+
+    }
+
+    /**
+     * Creates a LazyGui in the frozen production mode, meant for shipping a finished sketch with the GUI hidden for good.
+     * Reads the most recent save once into a read-only snapshot and does nothing else -
+     * there is no GUI canvas, no windows, no input handling, no autosave and no work done at the end of draw().
+     * slider(), sliderInt(), toggle(), colorPicker(), text(), radio(), plotXY() and plotXYZ() return the saved values,
+     * or their defaults for paths missing from the save. The handles, the batch reads like slidersInto() and bind() read the same saved values,
+     * handles ignore set() and bound fields get written once when bind() is called.
+     * button() always returns false. Methods that change a value like sliderSet() and gradient(), which needs a node to draw, throw an IllegalStateException.
+     *
+     * @param sketch main processing sketch class
+     * @return frozen LazyGui serving the values from the most recent save
+     * @see LazyGui#freeze()
+     */
+    public static LazyGui createFrozen(PApplet sketch) {
+        LazyGui gui = new LazyGui();
+        GlobalReferences.init(gui, sketch);
+        gui.frozenSnapshot = new FrozenSnapshot(JsonSaveStore.readMostRecentSave());
+        return gui;
+    }
+
+    /**
+     * Exports a save as the source code of a Java class with every value as a static final constant, for final renders without LazyGui.
+     * Folders become nested classes and colors become hex ints. The class also gets static slider(path), sliderInt(path), toggle(path),
+     * text(path), radio(path) and colorPickerHex(path) methods, so existing calls like gui.slider("boids/speed") can be redirected to it.
+     * The generated file is written to the "exports" folder next to the save folder and its location is printed to the console.
+     *
+     * @param saveName name of the save file as seen in the saves folder, with or without the .json suffix
+     * @param className simple name of the class to generate, it gets no package declaration
+     */
+    public void exportSaveAsJava(String saveName, String className) {
+        File exportFile = JsonSaveStore.exportSaveAsJavaConstants(saveName, className);
+        if (exportFile != null) {
+            println("Exported save \"" + saveName + "\" to " + exportFile.getAbsolutePath());
+        }
+    }
+
+    /**
+     * Switches a running GUI to the frozen mode described in createFrozen(), taking its snapshot from the current values.
+     * Stops drawing, unregisters from the sketch input events and releases the GUI canvas. There is no way back.
+     *
+     * @see LazyGui#createFrozen(PApplet)
+     */
+    public void freeze() {
+        if (frozenSnapshot != null) {
+            return;
+        }
+        frozenSnapshot = new FrozenSnapshot(getJsonElementFromString(getTreeAsJsonString()));
+        app.unregisterMethod("draw", this);
+        UserInputPublisher.shutdown();
+        if (guiCanvas != null) {
+            guiCanvas.dispose();
+            guiCanvas = null;
+        }
+    }
+
+    public boolean isFrozen() {
+        return frozenSnapshot != null;
+    }
+
+    // the frozen values are read-only and there are no nodes to change, so changing a value fails loudly instead of being lost
+    private void throwIfFrozen(String methodName) {
+        if (frozenSnapshot != null) {
+            throw new IllegalStateException(methodName + "() cannot be used on a frozen LazyGui, its values are read-only");
+        }
+    }
+
+    // the frozen reads avoid building a new string when no folder is pushed
+    private String getFrozenPath(String path) {
+        return NodePaths.normalize(pathPrefix.isEmpty() ? path : getFolder() + path);
+    }
+
     void lazyFollowSketchResolution() {
         if (guiCanvas == null || guiCanvas.width != app.width || guiCanvas.height != app.height) {
             guiCanvas = app.createGraphics(app.width, app.height, P2D);
             guiCanvas.colorMode(HSB, 1, 1, 1, 1);
 //            pg.noSmooth();
             guiCanvas.smooth(8);
+            DirtyRegionStore.markEverythingDirty();
         }
     }
 
     /**
      * Utility method for displaying the GUI before draw() ends for the purposes of recording.
      * Does not update the gui, only returns the previous frame's gui canvas.
+     * Not updated at all while the windows are set to be drawn directly on the sketch in the options.
      * Can be confusing when displayed due to seeing duplicated GUI images with slightly different content.
      * @return previous frame's gui canvas
      */
@@ -123,31 +208,113 @@ public class LazyGui implements UserInputSubscriber {
      * @param targetCanvas canvas to draw the GUI on
      */
     public void draw(PGraphics targetCanvas) {
-        if(lastFrameCountGuiWasShown == app.frameCount){
+        if(frozenSnapshot != null || lastFrameCountGuiWasShown == app.frameCount){
             return;
         }
         lastFrameCountGuiWasShown = app.frameCount;
+        clearFolder();
+        UserInputPublisher.handleQueuedEvents();
         if(app.frameCount == 1){
             UndoRedoStore.init();
         }
         lazyFollowSketchResolution();
-        updateAllNodeValuesRegardlessOfParentWindowOpenness();
-        guiCanvas.beginDraw();
-        guiCanvas.clear();
-        clearFolder();
+        TickStore.tickSubscribedNodes();
+        syncFieldBindings();
+        ChangeListenerStore.dispatchChanges();
+        Window draggedWindow = WindowManager.getWindowBeingDraggedIfAny();
+        boolean isGuideAnimating = SnapToGrid.isGuideAnimating(draggedWindow);
+        resetSketchMatrixInAnyRenderer();
+        if (LayoutStore.getShouldDrawDirectlyOnTarget()) {
+            updateWindows();
+            drawDirectlyOnTarget(targetCanvas, draggedWindow);
+        } else {
+            if (!RefreshRateStore.shouldReuseLastFrame(isGuiHidden, isGuideAnimating)) {
+                updateWindows();
+                updateDirtyRegions(isGuideAnimating);
+                redrawDirtyRegionsOfGuiCanvas(draggedWindow);
+            }
+            targetCanvas.pushStyle();
+            targetCanvas.imageMode(CORNER);
+            targetCanvas.image(guiCanvas, 0, 0);
+            targetCanvas.popStyle();
+        }
+        takeScreenshotIfRequested();
+        updateEndlessLoopDetection();
+    }
+
+    private void updateWindows() {
         updateOptionsFolder();
-        SnapToGrid.displayGuideAndApplyFilter(guiCanvas, getWindowBeingDraggedIfAny());
         if (!isGuiHidden) {
-            WindowManager.updateAndDrawWindows(guiCanvas);
+            WindowManager.updateWindowImages(guiCanvas);
+        }
+    }
+
+    private void updateDirtyRegions(boolean isGuideAnimating) {
+        ContextLines.updateDirtyRegion();
+        boolean haveOptionsChanged = optionsNode.getVersion() != optionsVersionDrawn;
+        optionsVersionDrawn = optionsNode.getVersion();
+        if (!LayoutStore.getShouldRedrawDirtyRegionsOnly() || isGuiHidden != wasGuiHiddenWhenLastDrawn ||
+                haveOptionsChanged || isGuideAnimating) {
+            DirtyRegionStore.markEverythingDirty();
+        }
+        wasGuiHiddenWhenLastDrawn = isGuiHidden;
+    }
+
+    /**
+     * Clears and redraws only the dirty regions of the gui canvas, leaving the rest of it as it was drawn in earlier frames.
+     * The canvas is left untouched when nothing changed, so the whole frame is just the one image() call that displays it.
+     */
+    private void redrawDirtyRegionsOfGuiCanvas(Window draggedWindow) {
+        if (DirtyRegionStore.isClean()) {
+            return;
+        }
+        guiCanvas.beginDraw();
+        if (DirtyRegionStore.isEverythingDirty()) {
+            guiCanvas.clear();
+            drawGuiLayers(guiCanvas, draggedWindow, null);
+        } else {
+            for (float[] region : DirtyRegionStore.getRegions()) {
+                guiCanvas.imageMode(CORNER);
+                guiCanvas.clip(region[0], region[1], region[2] - region[0], region[3] - region[1]);
+                guiCanvas.pushStyle();
+                guiCanvas.blendMode(REPLACE);
+                guiCanvas.noStroke();
+                guiCanvas.fill(0, 0);
+                guiCanvas.rect(region[0] - 1, region[1] - 1, region[2] - region[0] + 2, region[3] - region[1] + 2);
+                guiCanvas.blendMode(BLEND);
+                guiCanvas.popStyle();
+                drawGuiLayers(guiCanvas, draggedWindow, region);
+            }
+            guiCanvas.noClip();
         }
         guiCanvas.endDraw();
-        resetSketchMatrixInAnyRenderer();
+        DirtyRegionStore.clear();
+    }
+
+    /**
+     * Draws the windows and everything around them straight onto the target canvas, the gui canvas is not touched at all.
+     * Saves the fill rate of the full size intermediate image at the cost of redrawing the gui every frame.
+     */
+    private void drawDirectlyOnTarget(PGraphics targetCanvas, Window draggedWindow) {
         targetCanvas.pushStyle();
-        targetCanvas.imageMode(CORNER);
-        targetCanvas.image(guiCanvas, 0, 0);
+        targetCanvas.colorMode(HSB, 1, 1, 1, 1);
+        drawGuiLayers(targetCanvas, draggedWindow, null);
         targetCanvas.popStyle();
-        takeScreenshotIfRequested();
-        updateEndlessLoopDetection();
+        // the gui canvas is out of date by now, so it must be redrawn fully once it gets used again
+        DirtyRegionStore.markEverythingDirty();
+    }
+
+    private void drawGuiLayers(PGraphics pg, Window draggedWindow, float[] nullableRegion) {
+        ContextLines.draw(pg);
+        SnapToGrid.displayGuideAndApplyFilter(pg, draggedWindow);
+        if (isGuiHidden) {
+            return;
+        }
+        if (nullableRegion == null) {
+            WindowManager.updateAndDrawWindows(pg);
+        } else {
+            WindowManager.drawWindowsInRegion(pg, nullableRegion);
+        }
     }
 
     static void resetSketchMatrixInAnyRenderer() {
@@ -158,19 +325,6 @@ public class LazyGui implements UserInputSubscriber {
         }
     }
 
-    private Window getWindowBeingDraggedIfAny() {
-        List<AbstractNode> allNodes = getAllNodesAsList();
-        for(AbstractNode node : allNodes){
-            if(node.type == NodeType.FOLDER){
-                FolderNode folder = (FolderNode) node;
-                if(folder.window != null && folder.window.isBeingDraggedAround){
-                    return folder.window;
-                }
-            }
-        }
-        return null;
-    }
-
     /**
      * Method subscribed to PApplet input events, not meant for library users.
      * @param keyEvent current key event
@@ -245,16 +399,78 @@ public class LazyGui implements UserInputSubscriber {
     }
 
     private float slider(String path, float defaultValue, float min, float max, boolean constrained) {
-        String fullPath = getFolder() + path;
-        if(isPathTakenByUnexpectedType(fullPath, SliderNode.class)){
+        if(frozenSnapshot != null){
+            return frozenSnapshot.getFloat(getFrozenPath(path), defaultValue);
+        }
+        SliderNode node = findOrCreateSliderNode(getFolder() + path, defaultValue, min, max, constrained);
+        if(node == null){
             return defaultValue;
         }
-        SliderNode node = (SliderNode) findNode(fullPath);
+        return node.getValueFloat();
+    }
+
+    /**
+     * Gets a handle bound to a float slider control element that can be kept and read repeatedly without any path lookups.
+     * Lazily initializes the slider if needed and uses a default value of 0.
+     * The current folder prefix from pushFolder() is applied once at the time of creating the handle.
+     *
+     * @param path forward slash separated unique path to the control element
+     * @return handle to the slider that returns its current value with get()
+     */
+    public SliderHandle sliderHandle(String path) {
+        return sliderHandle(path, 0, Float.MAX_VALUE, -Float.MAX_VALUE, false);
+    }
+
+    /**
+     * Gets a handle bound to a float slider control element that can be kept and read repeatedly without any path lookups.
+     * Lazily initializes the slider if needed and uses a specified default value.
+     * The current folder prefix from pushFolder() is applied once at the time of creating the handle.
+     *
+     * @param path forward slash separated unique path to the control element
+     * @param defaultValue default value to set the slider to
+     * @return handle to the slider that returns its current value with get()
+     */
+    public SliderHandle sliderHandle(String path, float defaultValue) {
+        return sliderHandle(path, defaultValue, Float.MAX_VALUE, -Float.MAX_VALUE, false);
+    }
+
+    /**
+     * Gets a handle bound to a float slider control element that can be kept and read repeatedly without any path lookups.
+     * Lazily initializes the slider if needed and uses a default value specified in the parameter
+     * along with enforcing a minimum and maximum of reachable values.
+     * The current folder prefix from pushFolder() is applied once at the time of creating the handle.
+     *
+     * @param path forward slash separated unique path to the control element
+     * @param defaultValue the default value, ideally between min and max
+     * @param min the value cannot go below this, min &lt; max must be true
+     * @param max the value cannot go above this, max &gt; min must be true
+     * @return handle to the slider that returns its current value with get()
+     */
+    public SliderHandle sliderHandle(String path, float defaultValue, float min, float max) {
+        return sliderHandle(path, defaultValue, min, max, true);
+    }
+
+    private SliderHandle sliderHandle(String path, float defaultValue, float min, float max, boolean constrained) {
+        if(frozenSnapshot != null){
+            return new SliderHandle(null, frozenSnapshot.getFloat(getFrozenPath(path), defaultValue));
+        }
+        SliderNode node = findOrCreateSliderNode(getFolder() + path, defaultValue, min, max, constrained);
+        return new SliderHandle(node, defaultValue);
+    }
+
+    private SliderNode findOrCreateSliderNode(String fullPath, float defaultValue, float min, float max, boolean constrained) {
+        AbstractNode foundNode = findNode(fullPath);
+        if(isNodeOfUnexpectedType(foundNode, fullPath, SliderNode.class)){
+            return null;
+        }
+        SliderNode node = (SliderNode) foundNode;
         if (node == null) {
             node = createSliderNode(fullPath, defaultValue, min, max, constrained);
-            insertNodeAtItsPath(node);
+            if (!insertNodeAtItsPath(node)) {
+                return null;
+            }
         }
-        return node.valueFloat;
+        return node;
     }
 
     private SliderNode createSliderNode(String path, float defaultValue, float min, float max, boolean constrained) {
@@ -273,16 +489,20 @@ public class LazyGui implements UserInputSubscriber {
      * @param value value to set the float slider at the path to
      */
     public void sliderSet(String path, float value){
+        throwIfFrozen("sliderSet");
         String fullPath = getFolder() + path;
-        if(isPathTakenByUnexpectedType(fullPath, SliderNode.class)){
+        AbstractNode foundNode = findNode(fullPath);
+        if(isNodeOfUnexpectedType(foundNode, fullPath, SliderNode.class)){
             return;
         }
-        SliderNode node = (SliderNode) findNode(fullPath);
+        SliderNode node = (SliderNode) foundNode;
         if (node == null) {
             node = createSliderNode(fullPath, value, -Float.MAX_VALUE, Float.MAX_VALUE, false);
-            insertNodeAtItsPath(node);
+            if (!insertNodeAtItsPath(node)) {
+                return;
+            }
         }
-        node.valueFloat = value;
+        node.storeValueFloat(value);
     }
 
     /**
@@ -294,16 +514,20 @@ public class LazyGui implements UserInputSubscriber {
      * @param amountToAdd value to set the float slider at the path to
      */
     public void sliderAdd(String path, float amountToAdd){
+        throwIfFrozen("sliderAdd");
         String fullPath = getFolder() + path;
-        if(isPathTakenByUnexpectedType(fullPath, SliderNode.class)){
+        AbstractNode foundNode = findNode(fullPath);
+        if(isNodeOfUnexpectedType(foundNode, fullPath, SliderNode.class)){
             return;
         }
-        SliderNode node = (SliderNode) findNode(fullPath);
+        SliderNode node = (SliderNode) foundNode;
         if (node == null) {
             node = createSliderNode(fullPath, 0, -Float.MAX_VALUE, Float.MAX_VALUE, false);
-            insertNodeAtItsPath(node);
+            if (!insertNodeAtItsPath(node)) {
+                return;
+            }
         }
-        node.valueFloat += amountToAdd;
+        node.storeValueFloat(node.getValueFloat() + amountToAdd);
     }
 
     /**
@@ -345,16 +569,66 @@ public class LazyGui implements UserInputSubscriber {
     }
 
     private int sliderInt(String path, int defaultValue, int min, int max, boolean constrained) {
-        String fullPath = getFolder() + path;
-        if(isPathTakenByUnexpectedType(fullPath, SliderNode.class)){
+        if(frozenSnapshot != null){
+            return floor(frozenSnapshot.getFloat(getFrozenPath(path), defaultValue));
+        }
+        SliderIntNode node = findOrCreateSliderIntNode(getFolder() + path, defaultValue, min, max, constrained);
+        if(node == null){
             return defaultValue;
         }
-        SliderIntNode node = (SliderIntNode) findNode(fullPath);
+        return node.getIntValue();
+    }
+
+    /**
+     * Gets a handle bound to an integer slider control element that can be kept and read repeatedly without any path lookups.
+     * Lazily initializes the slider if needed and uses the specified default value.
+     * The current folder prefix from pushFolder() is applied once at the time of creating the handle.
+     *
+     * @param path forward slash separated unique path to the control element
+     * @param defaultValue default value to set the slider to
+     * @return handle to the slider that returns its current value with get()
+     */
+    public SliderIntHandle sliderIntHandle(String path, int defaultValue) {
+        return sliderIntHandle(path, defaultValue, -Integer.MAX_VALUE, Integer.MAX_VALUE, false);
+    }
+
+    /**
+     * Gets a handle bound to an integer slider control element that can be kept and read repeatedly without any path lookups.
+     * Lazily initializes the slider if needed and uses a default value specified in the parameter
+     * along with enforcing a minimum and maximum of reachable values.
+     * The current folder prefix from pushFolder() is applied once at the time of creating the handle.
+     *
+     * @param path forward slash separated unique path to the control element
+     * @param defaultValue the default value, ideally between min and max
+     * @param min the value cannot go below this, min &lt; max must be true
+     * @param max the value cannot go above this, max &gt; min must be true
+     * @return handle to the slider that returns its current value with get()
+     */
+    public SliderIntHandle sliderIntHandle(String path, int defaultValue, int min, int max) {
+        return sliderIntHandle(path, defaultValue, min, max, true);
+    }
+
+    private SliderIntHandle sliderIntHandle(String path, int defaultValue, int min, int max, boolean constrained) {
+        if(frozenSnapshot != null){
+            return new SliderIntHandle(null, floor(frozenSnapshot.getFloat(getFrozenPath(path), defaultValue)));
+        }
+        SliderIntNode node = findOrCreateSliderIntNode(getFolder() + path, defaultValue, min, max, constrained);
+        return new SliderIntHandle(node, defaultValue);
+    }
+
+    private SliderIntNode findOrCreateSliderIntNode(String fullPath, int defaultValue, int min, int max, boolean constrained) {
+        AbstractNode foundNode = findNode(fullPath);
+        if(isNodeOfUnexpectedType(foundNode, fullPath, SliderNode.class)){
+            return null;
+        }
+        SliderIntNode node = (SliderIntNode) foundNode;
         if (node == null) {
             node = createSliderIntNode(fullPath, defaultValue, min, max, constrained);
-            insertNodeAtItsPath(node);
+            if (!insertNodeAtItsPath(node)) {
+                return null;
+            }
         }
-        return node.getIntValue();
+        return node;
     }
 
     private SliderIntNode createSliderIntNode(String path, int defaultValue, int min, int max, boolean constrained) {
@@ -374,16 +648,20 @@ public class LazyGui implements UserInputSubscriber {
      * @param value value to set the float slider at the path to
      */
     public void sliderIntSet(String path, int value){
+        throwIfFrozen("sliderIntSet");
         String fullPath = getFolder() + path;
-        if(isPathTakenByUnexpectedType(fullPath, SliderNode.class)){
+        AbstractNode foundNode = findNode(fullPath);
+        if(isNodeOfUnexpectedType(foundNode, fullPath, SliderNode.class)){
             return;
         }
-        SliderIntNode node = (SliderIntNode) findNode(fullPath);
+        SliderIntNode node = (SliderIntNode) foundNode;
         if (node == null) {
             node = createSliderIntNode(fullPath, value, -Integer.MAX_VALUE, Integer.MAX_VALUE, false);
-            insertNodeAtItsPath(node);
+            if (!insertNodeAtItsPath(node)) {
+                return;
+            }
         }
-        node.valueFloat = value;
+        node.storeValueFloat(value);
     }
 
     /**
@@ -481,16 +759,29 @@ public class LazyGui implements UserInputSubscriber {
     }
 
     private PVector plotXYZ(String path, PVector defaultXYZ, boolean useZ){
-        String fullPath = getFolder() + path;
-        if(isPathTakenByUnexpectedType(fullPath, PlotFolderNode.class)){
+        if(frozenSnapshot != null){
+            return frozenSnapshot.getVector(getFrozenPath(path), defaultXYZ, useZ);
+        }
+        PlotFolderNode node = findOrCreatePlotNode(getFolder() + path, defaultXYZ, useZ);
+        if(node == null){
             return defaultXYZ == null ? new PVector() : defaultXYZ.copy();
         }
-        PlotFolderNode node = (PlotFolderNode) findNode(fullPath);
+        return node.getVectorValue();
+    }
+
+    private PlotFolderNode findOrCreatePlotNode(String fullPath, PVector defaultXYZ, boolean useZ){
+        AbstractNode foundNode = findNode(fullPath);
+        if(isNodeOfUnexpectedType(foundNode, fullPath, PlotFolderNode.class)){
+            return null;
+        }
+        PlotFolderNode node = (PlotFolderNode) foundNode;
         if(node == null){
             node = createPlotNode(fullPath, defaultXYZ, useZ);
-            insertNodeAtItsPath(node);
+            if (!insertNodeAtItsPath(node)) {
+                return null;
+            }
         }
-        return node.getVectorValue();
+        return node;
     }
 
     /**
@@ -538,14 +829,18 @@ public class LazyGui implements UserInputSubscriber {
     }
 
     private void plotSet(String path, PVector valueToSet, boolean useZ){
+        throwIfFrozen("plotSet");
         String fullPath = getFolder() + path;
-        if(isPathTakenByUnexpectedType(fullPath, PlotFolderNode.class)){
+        AbstractNode foundNode = findNode(fullPath);
+        if(isNodeOfUnexpectedType(foundNode, fullPath, PlotFolderNode.class)){
             return;
         }
-        PlotFolderNode node = (PlotFolderNode) findNode(fullPath);
+        PlotFolderNode node = (PlotFolderNode) foundNode;
         if(node == null){
             node = createPlotNode(fullPath, valueToSet, useZ);
-            insertNodeAtItsPath(node);
+            if (!insertNodeAtItsPath(node)) {
+                return;
+            }
         }
         node.setVectorValue(valueToSet.x, valueToSet.y, valueToSet.z);
     }
@@ -575,16 +870,46 @@ public class LazyGui implements UserInputSubscriber {
      * @return current value of the toggle
      */
     public boolean toggle(String path, boolean defaultValue) {
-        String fullPath = getFolder() + path;
-        if(isPathTakenByUnexpectedType(fullPath, ToggleNode.class)){
+        if(frozenSnapshot != null){
+            return frozenSnapshot.getBoolean(getFrozenPath(path), defaultValue);
+        }
+        ToggleNode node = findOrCreateToggleNode(getFolder() + path, defaultValue);
+        if(node == null){
             return defaultValue;
         }
-        ToggleNode node = (ToggleNode) findNode(fullPath);
+        return node.getValueBoolean();
+    }
+
+    /**
+     * Gets a handle bound to a toggle control element that can be kept and read repeatedly without any path lookups.
+     * Lazily initializes the toggle if needed and sets its value to the specified parameter default.
+     * The current folder prefix from pushFolder() is applied once at the time of creating the handle.
+     *
+     * @param path forward slash separated unique path to the control element
+     * @param defaultValue default value of the toggle
+     * @return handle to the toggle that returns its current value with get()
+     */
+    public ToggleHandle toggleHandle(String path, boolean defaultValue) {
+        if(frozenSnapshot != null){
+            return new ToggleHandle(null, frozenSnapshot.getBoolean(getFrozenPath(path), defaultValue));
+        }
+        ToggleNode node = findOrCreateToggleNode(getFolder() + path, defaultValue);
+        return new ToggleHandle(node, defaultValue);
+    }
+
+    private ToggleNode findOrCreateToggleNode(String fullPath, boolean defaultValue) {
+        AbstractNode foundNode = findNode(fullPath);
+        if(isNodeOfUnexpectedType(foundNode, fullPath, ToggleNode.class)){
+            return null;
+        }
+        ToggleNode node = (ToggleNode) foundNode;
         if (node == null) {
             node = createToggleNode(fullPath, defaultValue);
-            insertNodeAtItsPath(node);
+            if (!insertNodeAtItsPath(node)) {
+                return null;
+            }
         }
-        return node.valueBoolean;
+        return node;
     }
 
     /**
@@ -596,16 +921,20 @@ public class LazyGui implements UserInputSubscriber {
      * @param value current value of the toggle
      */
     public void toggleSet(String path, boolean value) {
+        throwIfFrozen("toggleSet");
         String fullPath = getFolder() + path;
-        if(isPathTakenByUnexpectedType(fullPath, ToggleNode.class)){
+        AbstractNode foundNode = findNode(fullPath);
+        if(isNodeOfUnexpectedType(foundNode, fullPath, ToggleNode.class)){
             return;
         }
-        ToggleNode node = (ToggleNode) findNode(fullPath);
+        ToggleNode node = (ToggleNode) foundNode;
         if (node == null) {
             node = createToggleNode(fullPath, value);
-            insertNodeAtItsPath(node);
+            if (!insertNodeAtItsPath(node)) {
+                return;
+            }
         }
-        node.valueBoolean = value;
+        node.setValueBoolean(value);
     }
 
     private ToggleNode createToggleNode(String path, boolean defaultValue) {
@@ -627,14 +956,20 @@ public class LazyGui implements UserInputSubscriber {
      * @return button value that can only be true once per user interaction
      */
     public boolean button(String path) {
+        if(frozenSnapshot != null){
+            return false;
+        }
         String fullPath = getFolder() + path;
-        if(isPathTakenByUnexpectedType(fullPath, ButtonNode.class)){
+        AbstractNode foundNode = findNode(fullPath);
+        if(isNodeOfUnexpectedType(foundNode, fullPath, ButtonNode.class)){
             return false;
         }
-        ButtonNode node = (ButtonNode) findNode(fullPath);
+        ButtonNode node = (ButtonNode) foundNode;
         if (node == null) {
             node = createButtonNode(fullPath);
-            insertNodeAtItsPath(node);
+            if (!insertNodeAtItsPath(node)) {
+                return false;
+            }
         }
         return node.getBooleanValueAndSetItToFalse();
     }
@@ -695,18 +1030,24 @@ public class LazyGui implements UserInputSubscriber {
      * @return currently selected string
      */
     public String radio(String path, String[] options, String defaultOption) {
+        if(frozenSnapshot != null){
+            return frozenSnapshot.getString(getFrozenPath(path), defaultOption == null ? options[0] : defaultOption);
+        }
         String fullPath = getFolder() + path;
-        if(isPathTakenByUnexpectedType(fullPath, RadioFolderNode.class)){
+        AbstractNode foundNode = findNode(fullPath);
+        if(isNodeOfUnexpectedType(foundNode, fullPath, RadioFolderNode.class)){
             return defaultOption == null ? options[0] : defaultOption;
         }
         if (options == null || options.length == 0) {
             throw new IllegalArgumentException("options parameter must not be null nor empty");
         }
-        RadioFolderNode node = (RadioFolderNode) findNode(fullPath);
+        RadioFolderNode node = (RadioFolderNode) foundNode;
         if (node == null) {
             FolderNode parentFolder = NodeTree.findParentFolderLazyInitPath(fullPath);
             node = new RadioFolderNode(fullPath, parentFolder, options, defaultOption);
-            insertNodeAtItsPath(node);
+            if (!insertNodeAtItsPath(node)) {
+                return defaultOption == null ? options[0] : defaultOption;
+            }
         }
         return node.valueString;
     }
@@ -720,11 +1061,13 @@ public class LazyGui implements UserInputSubscriber {
      * @param optionToSet string option to set the radio element to
      */
     public void radioSet(String path, String optionToSet){
+        throwIfFrozen("radioSet");
         String fullPath = getFolder() + path;
-        if(isPathTakenByUnexpectedType(fullPath, RadioFolderNode.class)){
+        AbstractNode foundNode = findNode(fullPath);
+        if(isNodeOfUnexpectedType(foundNode, fullPath, RadioFolderNode.class)){
             return;
         }
-        RadioFolderNode node = (RadioFolderNode) findNode(fullPath);
+        RadioFolderNode node = (RadioFolderNode) foundNode;
         if (node != null) {
             List<String> options = node.getOptions();
             if(options.contains(optionToSet)){
@@ -800,17 +1143,47 @@ public class LazyGui implements UserInputSubscriber {
      * @return hex and hsba values in a PickerColor object
      */
     public PickerColor colorPicker(String path, int hex) {
-        String fullPath = getFolder() + path;
-        if(isPathTakenByUnexpectedType(fullPath, ColorPickerFolderNode.class)){
+        if(frozenSnapshot != null){
+            return frozenSnapshot.getColor(getFrozenPath(path), hex);
+        }
+        ColorPickerFolderNode node = findOrCreateColorPickerNode(getFolder() + path, hex);
+        if(node == null){
             return new PickerColor(hex);
         }
-        ColorPickerFolderNode node = (ColorPickerFolderNode) findNode(fullPath);
+        return node.getColor();
+    }
+
+    /**
+     * Gets a handle bound to a color picker control element that can be kept and read repeatedly without any path lookups.
+     * Lazily initializes the color picker if needed with the parameter hex value as default color.
+     * The current folder prefix from pushFolder() is applied once at the time of creating the handle.
+     *
+     * @param path forward slash separated unique path to the control element
+     * @param hex hex color as an integer like 0xFF123456, also works with processing 'color' type
+     * @return handle to the color picker that returns its current hex value with hex()
+     */
+    public ColorPickerHandle colorPickerHandle(String path, int hex) {
+        if(frozenSnapshot != null){
+            return new ColorPickerHandle(frozenSnapshot.getColor(getFrozenPath(path), hex));
+        }
+        ColorPickerFolderNode node = findOrCreateColorPickerNode(getFolder() + path, hex);
+        return new ColorPickerHandle(node, hex);
+    }
+
+    private ColorPickerFolderNode findOrCreateColorPickerNode(String fullPath, int hex) {
+        AbstractNode foundNode = findNode(fullPath);
+        if(isNodeOfUnexpectedType(foundNode, fullPath, ColorPickerFolderNode.class)){
+            return null;
+        }
+        ColorPickerFolderNode node = (ColorPickerFolderNode) foundNode;
         if (node == null) {
             FolderNode folder = NodeTree.findParentFolderLazyInitPath(fullPath);
             node = new ColorPickerFolderNode(fullPath, folder, hex);
-            insertNodeAtItsPath(node);
+            if (!insertNodeAtItsPath(node)) {
+                return null;
+            }
         }
-        return node.getColor();
+        return node;
     }
 
     /**
@@ -822,11 +1195,13 @@ public class LazyGui implements UserInputSubscriber {
      * @param hex hex color to set, also works with processing 'color' type
      */
     public void colorPickerSet(String path, int hex) {
+        throwIfFrozen("colorPickerSet");
         String fullPath = getFolder() + path;
-        if(isPathTakenByUnexpectedType(fullPath, ColorPickerFolderNode.class)){
+        AbstractNode foundNode = findNode(fullPath);
+        if(isNodeOfUnexpectedType(foundNode, fullPath, ColorPickerFolderNode.class)){
             return;
         }
-        ColorPickerFolderNode node = (ColorPickerFolderNode) findNode(fullPath);
+        ColorPickerFolderNode node = (ColorPickerFolderNode) foundNode;
         if (node == null) {
             FolderNode folder = NodeTree.findParentFolderLazyInitPath(fullPath);
             node = new ColorPickerFolderNode(fullPath, folder, hex);
@@ -846,11 +1221,13 @@ public class LazyGui implements UserInputSubscriber {
      * @param hueToAdd hue to add, with the hue value being normalized to the range [0,1]
      */
     public void colorPickerHueAdd(String path, float hueToAdd) {
+        throwIfFrozen("colorPickerHueAdd");
         String fullPath = getFolder() + path;
-        if(isPathTakenByUnexpectedType(fullPath, ColorPickerFolderNode.class)){
+        AbstractNode foundNode = findNode(fullPath);
+        if(isNodeOfUnexpectedType(foundNode, fullPath, ColorPickerFolderNode.class)){
             return;
         }
-        ColorPickerFolderNode node = (ColorPickerFolderNode) findNode(fullPath);
+        ColorPickerFolderNode node = (ColorPickerFolderNode) foundNode;
         if (node == null) {
             FolderNode folder = NodeTree.findParentFolderLazyInitPath(fullPath);
             node = new ColorPickerFolderNode(path, folder, NormColorStore.color(0,1));
@@ -897,17 +1274,30 @@ public class LazyGui implements UserInputSubscriber {
     }
 
     private String getTextNodeValue(String path, String content){
-        String fullPath = getFolder() + path;
-        if(NodeTree.isPathTakenByUnexpectedType(fullPath, TextNode.class)){
+        if(frozenSnapshot != null){
+            return frozenSnapshot.getString(getFrozenPath(path), content);
+        }
+        TextNode node = findOrCreateTextNode(getFolder() + path, content);
+        if(node == null){
             return content;
         }
-        TextNode node = (TextNode) findNode(fullPath);
+        return node.getStringValue();
+    }
+
+    private TextNode findOrCreateTextNode(String fullPath, String content){
+        AbstractNode foundNode = findNode(fullPath);
+        if(isNodeOfUnexpectedType(foundNode, fullPath, TextNode.class)){
+            return null;
+        }
+        TextNode node = (TextNode) foundNode;
         if (node == null) {
             FolderNode folder = NodeTree.findParentFolderLazyInitPath(fullPath);
             node = new TextNode(fullPath, folder, content);
-            insertNodeAtItsPath(node);
+            if (!insertNodeAtItsPath(node)) {
+                return null;
+            }
         }
-        return node.getStringValue();
+        return node;
     }
 
     /**
@@ -922,15 +1312,19 @@ public class LazyGui implements UserInputSubscriber {
     }
 
     public void setTextNodeContent(String path, String content){
+        throwIfFrozen("setTextNodeContent");
         String fullPath = getFolder() + path;
-        TextNode node = (TextNode) findNode(fullPath);
-        if(NodeTree.isPathTakenByUnexpectedType(fullPath, TextNode.class)){
+        AbstractNode foundNode = findNode(fullPath);
+        if(isNodeOfUnexpectedType(foundNode, fullPath, TextNode.class)){
             return;
         }
+        TextNode node = (TextNode) foundNode;
         if (node == null) {
             FolderNode folder = NodeTree.findParentFolderLazyInitPath(fullPath);
             node = new TextNode(fullPath, folder, content);
-            insertNodeAtItsPath(node);
+            if (!insertNodeAtItsPath(node)) {
+                return;
+            }
         }
         node.setStringValue(content);
     }
@@ -955,19 +1349,306 @@ public class LazyGui implements UserInputSubscriber {
      * @return PGraphics after endDraw() - ready to be displayed as an image
      */
     public PGraphics gradient(String path, float alpha) {
+        throwIfFrozen("gradient");
         String fullPath = getFolder() + path;
-        if(isPathTakenByUnexpectedType(fullPath, GradientFolderNode.class)){
+        AbstractNode foundNode = findNode(fullPath);
+        if(isNodeOfUnexpectedType(foundNode, fullPath, GradientFolderNode.class)){
             return null;
         }
-        GradientFolderNode node = (GradientFolderNode) findNode(fullPath);
+        GradientFolderNode node = (GradientFolderNode) foundNode;
         if (node == null) {
             FolderNode parentFolder = NodeTree.findParentFolderLazyInitPath(fullPath);
             node = new GradientFolderNode(fullPath, parentFolder, alpha);
-            insertNodeAtItsPath(node);
+            if (!insertNodeAtItsPath(node)) {
+                return null;
+            }
         }
         return node.getOutputGraphics();
     }
 
+    /**
+     * Reads the values of all float and int sliders directly inside a folder into a caller-owned array.
+     * Resolves the folder path only once and does not allocate anything, so it's suitable for filling shader uniform arrays every frame.
+     * Sliders are written in the order they were created in, other kinds of control elements in the folder are skipped.
+     * Does not initialize anything - the sliders need to already exist, created with slider() or sliderInt() calls.
+     *
+     * @param folderPath forward slash separated path to the folder containing the sliders
+     * @param out array to write the values into, starting at index 0, any extra sliders that don't fit are ignored
+     * @return how many values were written into the array, 0 when the folder does not exist
+     */
+    public int slidersInto(String folderPath, float[] out) {
+        if (frozenSnapshot != null) {
+            return frozenSnapshot.slidersInto(getFolder() + folderPath, out);
+        }
+        FolderNode folder = findFolderForBatchRead(folderPath);
+        if (folder == null) {
+            return 0;
+        }
+        int written = 0;
+        for (int i = 0; i < folder.children.size() && written < out.length; i++) {
+            AbstractNode child = folder.children.get(i);
+            if (child instanceof SliderNode) {
+                out[written] = ((SliderNode) child).getValueFloat();
+                written++;
+            }
+        }
+        return written;
+    }
+
+    /**
+     * Reads the values of all toggles directly inside a folder into a caller-owned array.
+     * Resolves the folder path only once and does not allocate anything.
+     * Toggles are written in the order they were created in, other kinds of control elements in the folder are skipped.
+     * Does not initialize anything - the toggles need to already exist, created with toggle() calls.
+     *
+     * @param folderPath forward slash separated path to the folder containing the toggles
+     * @param out array to write the values into, starting at index 0, any extra toggles that don't fit are ignored
+     * @return how many values were written into the array, 0 when the folder does not exist
+     */
+    public int togglesInto(String folderPath, boolean[] out) {
+        if (frozenSnapshot != null) {
+            return frozenSnapshot.togglesInto(getFolder() + folderPath, out);
+        }
+        FolderNode folder = findFolderForBatchRead(folderPath);
+        if (folder == null) {
+            return 0;
+        }
+        int written = 0;
+        for (int i = 0; i < folder.children.size() && written < out.length; i++) {
+            AbstractNode child = folder.children.get(i);
+            if (child instanceof ToggleNode) {
+                out[written] = ((ToggleNode) child).getValueBoolean();
+                written++;
+            }
+        }
+        return written;
+    }
+
+    /**
+     * Reads the hex values of all color pickers directly inside a folder into a caller-owned array.
+     * Resolves the folder path only once and does not allocate anything, unlike colorPicker() which returns a new PickerColor.
+     * Colors are written in the order they were created in, other kinds of control elements in the folder are skipped.
+     * Does not initialize anything - the color pickers need to already exist, created with colorPicker() calls.
+     *
+     * @param folderPath forward slash separated path to the folder containing the color pickers
+     * @param out array to write the hex colors into, starting at index 0, any extra colors that don't fit are ignored
+     * @return how many values were written into the array, 0 when the folder does not exist
+     */
+    public int colorsInto(String folderPath, int[] out) {
+        if (frozenSnapshot != null) {
+            return frozenSnapshot.colorsInto(getFolder() + folderPath, out);
+        }
+        FolderNode folder = findFolderForBatchRead(folderPath);
+        if (folder == null) {
+            return 0;
+        }
+        int written = 0;
+        for (int i = 0; i < folder.children.size() && written < out.length; i++) {
+            AbstractNode child = folder.children.get(i);
+            if (child instanceof ColorPickerFolderNode) {
+                out[written] = ((ColorPickerFolderNode) child).getHex();
+                written++;
+            }
+        }
+        return written;
+    }
+
+    private FolderNode findFolderForBatchRead(String folderPath) {
+        AbstractNode foundNode = findNode(getFolder() + folderPath);
+        if (!(foundNode instanceof FolderNode)) {
+            return null;
+        }
+        return (FolderNode) foundNode;
+    }
+
+    /**
+     * Checks whether the value of a control element changed since the last time this was called with the same path.
+     * Useful for skipping expensive work like regenerating a mesh when nothing in the GUI moved.
+     * Returns true the first time it's called for an existing control element, so the work gets done at least once.
+     * Does not initialize anything, the control element needs to already exist.
+     *
+     * @param path forward slash separated unique path to the control element
+     * @return true if the value changed since the last check, false when it did not or when the control element does not exist
+     */
+    public boolean hasChanged(String path) {
+        AbstractNode node = findNode(getFolder() + path);
+        if (node == null) {
+            return false;
+        }
+        return node.hasChangedSinceLastCheck();
+    }
+
+    /**
+     * Checks whether any control element inside a folder changed since the last time this was called with the same path.
+     * Costs a single comparison no matter how many control elements are in the folder,
+     * so it can be used to invalidate something derived from a whole folder of parameters.
+     * Returns true the first time it's called for an existing folder.
+     * Does not initialize anything, the folder needs to already exist.
+     *
+     * @param folderPath forward slash separated path to the folder
+     * @return true if anything inside the folder changed since the last check, false when nothing did or when the folder does not exist
+     */
+    public boolean folderChanged(String folderPath) {
+        AbstractNode node = findNode(getFolder() + folderPath);
+        if (!(node instanceof FolderNode)) {
+            return false;
+        }
+        return node.hasChangedSinceLastCheck();
+    }
+
+    /**
+     * Registers a listener to be called when the value of a control element changes.
+     * Works with any control element and also with folders, where any change inside the folder counts.
+     * Listeners are called from LazyGui.draw() at most once per frame no matter how many times the value changed during that frame,
+     * including changes made by undo, redo and loading a save.
+     * The control element does not need to exist yet.
+     *
+     * @param path forward slash separated unique path to the control element, the same one used to create it
+     * @param listener called with the full path of the control element that changed
+     */
+    public void onChange(String path, Consumer<String> listener) {
+        ChangeListenerStore.addListener(getFolder() + path, listener);
+    }
+
+    /**
+     * Registers a listener to be called when anything inside a folder changes.
+     * Listeners are called from LazyGui.draw() at most once per frame with all the changes inside the folder during that frame.
+     * The folder does not need to exist yet.
+     *
+     * @param folderPath forward slash separated path to the folder
+     * @param listener called with the full paths of every control element that changed inside the folder, each path appears once
+     */
+    public void onFolderChange(String folderPath, Consumer<List<String>> listener) {
+        ChangeListenerStore.addFolderListener(getFolder() + folderPath, listener);
+    }
+
+    /**
+     * Gets a number that goes up every time the value of a control element changes.
+     * Keep the last version you have seen and compare it with this to react to changes without comparing the values themselves.
+     * Does not initialize anything, the control element needs to already exist.
+     *
+     * @param path forward slash separated unique path to the control element
+     * @return current version of the control element's value, or -1 when it does not exist
+     */
+    public long version(String path) {
+        AbstractNode node = findNode(getFolder() + path);
+        if (node == null) {
+            return -1;
+        }
+        return node.getVersion();
+    }
+
+    /**
+     * Binds the public fields of an object to control elements inside a folder, so that the sketch can read plain fields instead of calling the GUI.
+     * Creates a control element for each supported field once, using the current field value as its default,
+     * and then writes any changed values into the fields once per frame at the start of LazyGui.draw().
+     * Supported field types are float (slider), int (sliderInt), int with "color" or "colour" in its name (colorPicker),
+     * boolean (toggle), String (text) and PVector (plotXY, or plotXYZ when z is not 0).
+     * Static fields, final fields other than PVector and fields of unsupported types are skipped.
+     * Meant to be called once per object, for example in setup().
+     *
+     * @param folderPath forward slash separated path to the folder to put the control elements in
+     * @param target object whose public fields should follow the GUI values
+     */
+    public void bind(String folderPath, Object target) {
+        pushFolder(folderPath);
+        for (Field field : target.getClass().getFields()) {
+            if (Modifier.isStatic(field.getModifiers())) {
+                continue;
+            }
+            try {
+                if (frozenSnapshot != null) {
+                    writeFrozenValueToField(field, target);
+                    continue;
+                }
+                FieldBinding binding = createFieldBinding(field, target);
+                if (binding != null) {
+                    fieldBindings.add(binding);
+                }
+            } catch (IllegalAccessException e) {
+                println("Could not bind the field " + field.getName() + " of " + target.getClass().getSimpleName() + ": " + e.getMessage());
+            }
+        }
+        popFolder();
+    }
+
+    private FieldBinding createFieldBinding(Field field, Object target) throws IllegalAccessException {
+        // public fields of a class that is not public itself, like a class declared in a processing sketch, still need this
+        field.setAccessible(true);
+        Class<?> type = field.getType();
+        String fullPath = getFolder() + field.getName();
+        boolean isFinal = Modifier.isFinal(field.getModifiers());
+        if (type == PVector.class) {
+            PVector defaultXYZ = (PVector) field.get(target);
+            PVector defaultCopy = defaultXYZ == null ? new PVector() : defaultXYZ.copy();
+            PlotFolderNode node = findOrCreatePlotNode(fullPath, defaultCopy, defaultCopy.z != 0);
+            return node == null ? null : new FieldBinding.VectorBinding(node, field, target);
+        }
+        if (isFinal) {
+            return null;
+        }
+        if (type == float.class) {
+            SliderNode node = findOrCreateSliderNode(fullPath, field.getFloat(target), Float.MAX_VALUE, -Float.MAX_VALUE, false);
+            return node == null ? null : new FieldBinding.FloatBinding(node, field, target);
+        }
+        if (type == int.class) {
+            String lowerCaseName = field.getName().toLowerCase();
+            if (lowerCaseName.contains("color") || lowerCaseName.contains("colour")) {
+                ColorPickerFolderNode node = findOrCreateColorPickerNode(fullPath, field.getInt(target));
+                return node == null ? null : new FieldBinding.ColorBinding(node, field, target);
+            }
+            SliderIntNode node = findOrCreateSliderIntNode(fullPath, field.getInt(target), -Integer.MAX_VALUE, Integer.MAX_VALUE, false);
+            return node == null ? null : new FieldBinding.IntBinding(node, field, target);
+        }
+        if (type == boolean.class) {
+            ToggleNode node = findOrCreateToggleNode(fullPath, field.getBoolean(target));
+            return node == null ? null : new FieldBinding.BooleanBinding(node, field, target);
+        }
+        if (type == String.class) {
+            String content = (String) field.get(target);
+            TextNode node = findOrCreateTextNode(fullPath, content == null ? "" : content);
+            return node == null ? null : new FieldBinding.StringBinding(node, field, target);
+        }
+        return null;
+    }
+
+    // the frozen values never change, so the fields only need to be written once and nothing gets bound
+    private void writeFrozenValueToField(Field field, Object target) throws IllegalAccessException {
+        field.setAccessible(true);
+        Class<?> type = field.getType();
+        String fullPath = getFolder() + field.getName();
+        if (type == PVector.class) {
+            PVector vector = (PVector) field.get(target);
+            if (vector != null) {
+                vector.set(frozenSnapshot.getVector(fullPath, vector, true));
+            }
+            return;
+        }
+        if (Modifier.isFinal(field.getModifiers())) {
+            return;
+        }
+        if (type == float.class) {
+            field.setFloat(target, frozenSnapshot.getFloat(fullPath, field.getFloat(target)));
+        } else if (type == int.class) {
+            String lowerCaseName = field.getName().toLowerCase();
+            if (lowerCaseName.contains("color") || lowerCaseName.contains("colour")) {
+                field.setInt(target, frozenSnapshot.getColor(fullPath, field.getInt(target)).hex);
+            } else {
+                field.setInt(target, floor(frozenSnapshot.getFloat(fullPath, field.getInt(target))));
+            }
+        } else if (type == boolean.class) {
+            field.setBoolean(target, frozenSnapshot.getBoolean(fullPath, field.getBoolean(target)));
+        } else if (type == String.class) {
+            String content = (String) field.get(target);
+            field.set(target, frozenSnapshot.getString(fullPath, content == null ? "" : content));
+        }
+    }
+
+    private void syncFieldBindings() {
+        for (int i = 0; i < fieldBindings.size(); i++) {
+            fieldBindings.get(i).syncIfChanged();
+        }
+    }
 
     /**
      * Pushes a folder name to the global path prefix stack.
@@ -994,7 +1675,7 @@ public class LazyGui implements UserInputSubscriber {
             // remove trailing slash if un-escaped
             slashSafeFolderName = slashSafeFolderName.substring(0, slashSafeFolderName.length()-1);
         }
-        pathPrefix.add(0, slashSafeFolderName);
+        pathPrefix.push(slashSafeFolderName);
     }
 
     /**
@@ -1009,9 +1690,7 @@ public class LazyGui implements UserInputSubscriber {
             println("Too many calls to popFolder() - there is nothing to pop");
             printedPopWarningAlready = true;
         }
-        if(!pathPrefix.isEmpty()){
-            pathPrefix.remove(0);
-        }
+        pathPrefix.pop();
     }
 
     /**
@@ -1032,16 +1711,7 @@ public class LazyGui implements UserInputSubscriber {
      * @return entire path prefix stack concatenated to one string
      */
     public String getFolder(){
-        if(pathPrefix.isEmpty()){
-            return "";
-        }
-        StringBuilder sb = new StringBuilder();
-        for (int i = pathPrefix.size() - 1; i >= 0; i--) {
-            String folder = pathPrefix.get(i);
-            sb.append(folder);
-            sb.append("/");
-        }
-        return sb.toString();
+        return pathPrefix.getPrefix();
     }
 
     /**
@@ -1060,13 +1730,6 @@ public class LazyGui implements UserInputSubscriber {
         return FontStore.getSideFont();
     }
 
-    private void updateAllNodeValuesRegardlessOfParentWindowOpenness() {
-        List<AbstractNode> allNodes = getAllNodesAsList();
-        for(AbstractNode node : allNodes){
-            node.updateValuesRegardlessOfParentWindowOpenness();
-        }
-    }
-
     /**
      * Should be called at the end of LazyGui.draw().
      * Calling this at the start of draw() would not allow the user to take a screenshot of the gui.
@@ -1106,7 +1769,7 @@ public class LazyGui implements UserInputSubscriber {
         FontStore.updateFontOptions();
         ThemeStore.updateThemePicker();
         SnapToGrid.update();
-        ContextLines.update(guiCanvas);
+        ContextLines.update();
         updateHotkeyToggles();
         DelayStore.updateInputDelay();
         popFolder();
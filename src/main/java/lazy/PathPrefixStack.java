@@ -0,0 +1,57 @@
+package lazy;
+
+import java.util.Arrays;
+
+/**
+ * The folder stack behind LazyGui.pushFolder() and popFolder().
+ * Keeps the joined prefix string for every depth, so that getFolder() returns an existing string without allocating.
+ * Popped levels are remembered, so pushing the same folder name at the same depth again (as happens every frame)
+ * only costs a string comparison and reuses the previously joined prefix.
+ */
+class PathPrefixStack {
+    private String[] names = new String[16];
+    private String[] prefixes = new String[16];
+    private int size = 0;
+    private int rememberedSize = 0;
+
+    void push(String folderName) {
+        if (size == names.length) {
+            names = Arrays.copyOf(names, size * 2);
+            prefixes = Arrays.copyOf(prefixes, size * 2);
+        }
+        if (size < rememberedSize && names[size].equals(folderName)) {
+            size++;
+            return;
+        }
+        names[size] = folderName;
+        prefixes[size] = getPrefix() + folderName + "/";
+        size++;
+        // anything remembered deeper than this was joined onto a different parent prefix
+        rememberedSize = size;
+    }
+
+    void pop() {
+        if (size > 0) {
+            size--;
+        }
+    }
+
+    void clear() {
+        size = 0;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    String getPrefix() {
+        if (size == 0) {
+            return "";
+        }
+        return prefixes[size - 1];
+    }
+}
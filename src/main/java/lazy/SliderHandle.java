@@ -0,0 +1,43 @@
+package lazy;
+
+import lazy.nodes.SliderNode;
+
+/**
+ * Pre-resolved reference to a float slider control element.
+ * Obtained once with LazyGui.sliderHandle() and then read repeatedly with get(),
+ * which skips the path building and node lookup that LazyGui.slider() does on every call.
+ * The underlying node is never replaced, so the handle keeps working after loading a save or undo / redo.
+ * If the path was already taken by a different type of control element the handle always returns its default value.
+ * @see LazyGui#sliderHandle(String, float)
+ */
+public class SliderHandle {
+    private final SliderNode node;
+    private final float defaultValue;
+
+    SliderHandle(SliderNode node, float defaultValue) {
+        this.node = node;
+        this.defaultValue = defaultValue;
+    }
+
+    /**
+     * Gets the current value of the slider.
+     * @return current float value of the slider
+     */
+    public float get() {
+        if (node == null) {
+            return defaultValue;
+        }
+        return node.getValueFloat();
+    }
+
+    /**
+     * Sets the value of the slider without requiring user interaction.
+     * @param value value to set the slider to
+     */
+    public void set(float value) {
+        if (node == null) {
+            return;
+        }
+        node.storeValueFloat(value);
+    }
+}
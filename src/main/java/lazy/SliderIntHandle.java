@@ -0,0 +1,41 @@
+package lazy;
+
+import lazy.nodes.SliderIntNode;
+
+/**
+ * Pre-resolved reference to an integer slider control element.
+ * Obtained once with LazyGui.sliderIntHandle() and then read repeatedly with get() without any path lookups.
+ * @see SliderHandle
+ * @see LazyGui#sliderIntHandle(String, int)
+ */
+public class SliderIntHandle {
+    private final SliderIntNode node;
+    private final int defaultValue;
+
+    SliderIntHandle(SliderIntNode node, int defaultValue) {
+        this.node = node;
+        this.defaultValue = defaultValue;
+    }
+
+    /**
+     * Gets the current value of the slider.
+     * @return current int value of the slider
+     */
+    public int get() {
+        if (node == null) {
+            return defaultValue;
+        }
+        return node.getIntValue();
+    }
+
+    /**
+     * Sets the value of the slider without requiring user interaction.
+     * @param value value to set the slider to
+     */
+    public void set(int value) {
+        if (node == null) {
+            return;
+        }
+        node.storeValueFloat(value);
+    }
+}
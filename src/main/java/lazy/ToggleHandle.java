@@ -0,0 +1,41 @@
+package lazy;
+
+import lazy.nodes.ToggleNode;
+
+/**
+ * Pre-resolved reference to a toggle control element.
+ * Obtained once with LazyGui.toggleHandle() and then read repeatedly with get() without any path lookups.
+ * @see SliderHandle
+ * @see LazyGui#toggleHandle(String, boolean)
+ */
+public class ToggleHandle {
+    private final ToggleNode node;
+    private final boolean defaultValue;
+
+    ToggleHandle(ToggleNode node, boolean defaultValue) {
+        this.node = node;
+        this.defaultValue = defaultValue;
+    }
+
+    /**
+     * Gets the current value of the toggle.
+     * @return current value of the toggle
+     */
+    public boolean get() {
+        if (node == null) {
+            return defaultValue;
+        }
+        return node.getValueBoolean();
+    }
+
+    /**
+     * Sets the value of the toggle without requiring user interaction.
+     * @param value value to set the toggle to
+     */
+    public void set(boolean value) {
+        if (node == null) {
+            return;
+        }
+        node.setValueBoolean(value);
+    }
+}
@@ -0,0 +1,85 @@
+package lazy.codegen;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks an interface whose methods declare GUI control elements, so that LazyControlsProcessor can generate an implementation at compile time.
+ * Every method must take no parameters and carry exactly one of the nested annotations with a return type to match.
+ * The generated class is named like the interface with a "Lazy" prefix, it takes a LazyGui in its constructor
+ * and creates all of its control elements right there, after which every method call is a plain field read without any path lookups.
+ * Paths declared by two different kinds of control elements anywhere in the compilation are reported as build errors.
+ * <pre>
+ * &#64;LazyControls
+ * interface BoidControls {
+ *     &#64;LazyControls.Slider(path = "boids/speed", defaultValue = 2, min = 0, max = 10)
+ *     float speed();
+ *
+ *     &#64;LazyControls.Toggle(path = "boids/wrap", defaultValue = true)
+ *     boolean wrap();
+ * }
+ *
+ * BoidControls controls = new LazyBoidControls(gui); // in setup()
+ * </pre>
+ * The generated constructor should be called outside any pushFolder() and popFolder() pair, because the paths are meant to be absolute.
+ */
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.TYPE)
+public @interface LazyControls {
+
+    /**
+     * Float slider, the method must return float.
+     * Leaving both min and max at their defaults makes the slider unconstrained.
+     */
+    @Retention(RetentionPolicy.SOURCE)
+    @Target(ElementType.METHOD)
+    @interface Slider {
+        String path();
+
+        float defaultValue() default 0;
+
+        float min() default -Float.MAX_VALUE;
+
+        float max() default Float.MAX_VALUE;
+    }
+
+    /**
+     * Integer slider, the method must return int.
+     * Leaving both min and max at their defaults makes the slider unconstrained.
+     */
+    @Retention(RetentionPolicy.SOURCE)
+    @Target(ElementType.METHOD)
+    @interface SliderInt {
+        String path();
+
+        int defaultValue() default 0;
+
+        int min() default -Integer.MAX_VALUE;
+
+        int max() default Integer.MAX_VALUE;
+    }
+
+    /**
+     * Toggle, the method must return boolean.
+     */
+    @Retention(RetentionPolicy.SOURCE)
+    @Target(ElementType.METHOD)
+    @interface Toggle {
+        String path();
+
+        boolean defaultValue() default false;
+    }
+
+    /**
+     * Color picker, the method must return its current color as an int.
+     */
+    @Retention(RetentionPolicy.SOURCE)
+    @Target(ElementType.METHOD)
+    @interface ColorPicker {
+        String path();
+
+        int hex() default 0xFF000000;
+    }
+}
@@ -0,0 +1,260 @@
+package lazy.codegen;
+
+import lazy.utils.JavaLiterals;
+import lazy.utils.NodePaths;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Messager;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.*;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.*;
+
+/**
+ * Generates the implementations of interfaces marked with LazyControls.
+ * Also checks every declared path against all the others seen during the compilation,
+ * so that a path used by two different kinds of control elements, or used both as a control element and as a folder,
+ * fails the build instead of printing a path conflict warning at runtime.
+ */
+public class LazyControlsProcessor extends AbstractProcessor {
+
+    private static final String FOLDER_KIND = "folder";
+
+    /**
+     * Everything declared so far, including the folders implied by the paths, mapped by path without empty segments.
+     */
+    private final Map<String, DeclaredPath> declaredPaths = new HashMap<>();
+
+    private static class DeclaredPath {
+        final String kind;
+        final Element element;
+
+        DeclaredPath(String kind, Element element) {
+            this.kind = kind;
+            this.element = element;
+        }
+    }
+
+    private static class Control {
+        final ExecutableElement method;
+        final String kind;
+        final String path;
+        final String handleType;
+        final String handleInitializer;
+        final String handleRead;
+
+        Control(ExecutableElement method, String kind, String path, String handleType, String handleInitializer, String handleRead) {
+            this.method = method;
+            this.kind = kind;
+            this.path = path;
+            this.handleType = handleType;
+            this.handleInitializer = handleInitializer;
+            this.handleRead = handleRead;
+        }
+    }
+
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+        return Collections.singleton(LazyControls.class.getCanonicalName());
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (Element element : roundEnv.getElementsAnnotatedWith(LazyControls.class)) {
+            if (element.getKind() != ElementKind.INTERFACE) {
+                error(element, "@LazyControls can only be used on an interface");
+                continue;
+            }
+            processInterface((TypeElement) element);
+        }
+        return true;
+    }
+
+    private void processInterface(TypeElement type) {
+        List<Control> controls = new ArrayList<>();
+        boolean valid = true;
+        for (Element member : type.getEnclosedElements()) {
+            if (member.getKind() != ElementKind.METHOD) {
+                continue;
+            }
+            ExecutableElement method = (ExecutableElement) member;
+            if (method.getModifiers().contains(Modifier.STATIC) || method.getModifiers().contains(Modifier.DEFAULT)) {
+                continue;
+            }
+            Control control = readControl(method);
+            if (control == null || !declarePath(control)) {
+                valid = false;
+                continue;
+            }
+            controls.add(control);
+        }
+        if (valid) {
+            writeImplementation(type, controls);
+        }
+    }
+
+    private Control readControl(ExecutableElement method) {
+        if (!method.getParameters().isEmpty()) {
+            error(method, "@LazyControls methods must not take any parameters");
+            return null;
+        }
+        LazyControls.Slider slider = method.getAnnotation(LazyControls.Slider.class);
+        LazyControls.SliderInt sliderInt = method.getAnnotation(LazyControls.SliderInt.class);
+        LazyControls.Toggle toggle = method.getAnnotation(LazyControls.Toggle.class);
+        LazyControls.ColorPicker colorPicker = method.getAnnotation(LazyControls.ColorPicker.class);
+        int annotationCount = (slider != null ? 1 : 0) + (sliderInt != null ? 1 : 0) + (toggle != null ? 1 : 0) + (colorPicker != null ? 1 : 0);
+        if (annotationCount != 1) {
+            error(method, "@LazyControls methods need exactly one of @Slider, @SliderInt, @Toggle or @ColorPicker");
+            return null;
+        }
+        if (slider != null) {
+            if (!returnsPrimitive(method, TypeKind.FLOAT)) {
+                return null;
+            }
+            boolean constrained = slider.min() != -Float.MAX_VALUE || slider.max() != Float.MAX_VALUE;
+            String arguments = JavaLiterals.ofString(slider.path()) + ", " + JavaLiterals.ofFloat(slider.defaultValue()) +
+                    (constrained ? ", " + JavaLiterals.ofFloat(slider.min()) + ", " + JavaLiterals.ofFloat(slider.max()) : "");
+            return new Control(method, "slider", slider.path(), "lazy.SliderHandle", "gui.sliderHandle(" + arguments + ")", "get()");
+        }
+        if (sliderInt != null) {
+            if (!returnsPrimitive(method, TypeKind.INT)) {
+                return null;
+            }
+            boolean constrained = sliderInt.min() != -Integer.MAX_VALUE || sliderInt.max() != Integer.MAX_VALUE;
+            String arguments = JavaLiterals.ofString(sliderInt.path()) + ", " + sliderInt.defaultValue() +
+                    (constrained ? ", " + sliderInt.min() + ", " + sliderInt.max() : "");
+            return new Control(method, "sliderInt", sliderInt.path(), "lazy.SliderIntHandle", "gui.sliderIntHandle(" + arguments + ")", "get()");
+        }
+        if (toggle != null) {
+            if (!returnsPrimitive(method, TypeKind.BOOLEAN)) {
+                return null;
+            }
+            String arguments = JavaLiterals.ofString(toggle.path()) + ", " + toggle.defaultValue();
+            return new Control(method, "toggle", toggle.path(), "lazy.ToggleHandle", "gui.toggleHandle(" + arguments + ")", "get()");
+        }
+        if (!returnsPrimitive(method, TypeKind.INT)) {
+            return null;
+        }
+        String arguments = JavaLiterals.ofString(colorPicker.path()) + ", 0x" + Integer.toHexString(colorPicker.hex());
+        return new Control(method, "colorPicker", colorPicker.path(), "lazy.ColorPickerHandle", "gui.colorPickerHandle(" + arguments + ")", "hex()");
+    }
+
+    private boolean returnsPrimitive(ExecutableElement method, TypeKind expectedKind) {
+        TypeMirror returnType = method.getReturnType();
+        if (returnType.getKind() != expectedKind) {
+            error(method, "this control element must be read as " + expectedKind.name().toLowerCase() + " but the method returns " + returnType);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Remembers the path of the control element and the folders above it,
+     * reporting an error when any of them was already declared as something else.
+     */
+    private boolean declarePath(Control control) {
+        String[] segments = NodePaths.splitByUnescapedSlashes(control.path);
+        List<String> nonEmptySegments = new ArrayList<>();
+        for (String segment : segments) {
+            if (!segment.isEmpty()) {
+                nonEmptySegments.add(segment);
+            }
+        }
+        if (nonEmptySegments.isEmpty()) {
+            error(control.method, "the path \"" + control.path + "\" is empty");
+            return false;
+        }
+        StringBuilder runningPath = new StringBuilder();
+        for (int i = 0; i < nonEmptySegments.size(); i++) {
+            if (i > 0) {
+                runningPath.append('/');
+            }
+            runningPath.append(nonEmptySegments.get(i));
+            boolean isLast = i == nonEmptySegments.size() - 1;
+            String kind = isLast ? control.kind : FOLDER_KIND;
+            String path = runningPath.toString();
+            DeclaredPath existing = declaredPaths.get(path);
+            if (existing == null) {
+                declaredPaths.put(path, new DeclaredPath(kind, control.method));
+                continue;
+            }
+            if (!existing.kind.equals(kind) || (isLast && existing.element != control.method)) {
+                error(control.method, "the path \"" + path + "\" is already used as a " + existing.kind +
+                        " by " + describe(existing.element) + ", LazyGui paths must be unique");
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void writeImplementation(TypeElement type, List<Control> controls) {
+        String packageName = processingEnv.getElementUtils().getPackageOf(type).getQualifiedName().toString();
+        String interfaceName = type.getQualifiedName().toString();
+        String generatedName = "Lazy" + getFlatName(type);
+        StringBuilder source = new StringBuilder();
+        if (!packageName.isEmpty()) {
+            source.append("package ").append(packageName).append(";\n\n");
+        }
+        source.append("/**\n * Generated by LazyControlsProcessor from ").append(interfaceName).append(", do not edit.\n */\n");
+        source.append("public final class ").append(generatedName).append(" implements ").append(interfaceName).append(" {\n");
+        for (Control control : controls) {
+            source.append("    private final ").append(control.handleType).append(' ').append(getHandleName(control)).append(";\n");
+        }
+        source.append("\n    public ").append(generatedName).append("(lazy.LazyGui gui) {\n");
+        for (Control control : controls) {
+            source.append("        ").append(getHandleName(control)).append(" = ").append(control.handleInitializer).append(";\n");
+        }
+        source.append("    }\n");
+        for (Control control : controls) {
+            source.append("\n    @Override\n");
+            source.append("    public ").append(control.method.getReturnType()).append(' ').append(control.method.getSimpleName()).append("() {\n");
+            source.append("        return ").append(getHandleName(control)).append('.').append(control.handleRead).append(";\n");
+            source.append("    }\n");
+        }
+        source.append("}\n");
+        String qualifiedGeneratedName = packageName.isEmpty() ? generatedName : packageName + "." + generatedName;
+        try {
+            JavaFileObject file = processingEnv.getFiler().createSourceFile(qualifiedGeneratedName, type);
+            try (Writer writer = file.openWriter()) {
+                writer.write(source.toString());
+            }
+        } catch (IOException e) {
+            error(type, "could not write " + qualifiedGeneratedName + ": " + e.getMessage());
+        }
+    }
+
+    private String getHandleName(Control control) {
+        return control.method.getSimpleName() + "Handle";
+    }
+
+    // nested interfaces get their enclosing type names joined with underscores
+    private String getFlatName(TypeElement type) {
+        String name = type.getSimpleName().toString();
+        Element enclosing = type.getEnclosingElement();
+        while (enclosing instanceof TypeElement) {
+            name = enclosing.getSimpleName() + "_" + name;
+            enclosing = enclosing.getEnclosingElement();
+        }
+        return name;
+    }
+
+    private String describe(Element element) {
+        return element.getEnclosingElement().getSimpleName() + "." + element.getSimpleName() + "()";
+    }
+
+    private void error(Element element, String message) {
+        Messager messager = processingEnv.getMessager();
+        messager.printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+}
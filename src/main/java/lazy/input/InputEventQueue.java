@@ -0,0 +1,54 @@
+package lazy.input;
+
+import processing.event.Event;
+
+/**
+ * Unbounded lock-free queue for one thread adding events and one other thread taking them out.
+ * The producer only ever touches the tail and the consumer only ever touches the head,
+ * the volatile link between two nodes is the only thing they share.
+ */
+class InputEventQueue {
+    private static final class Node {
+        private Event event;
+        private volatile Node next;
+
+        private Node(Event event) {
+            this.event = event;
+        }
+    }
+
+    // always an already consumed node, the first queued event is in the node after it
+    private Node head;
+    private Node tail;
+
+    InputEventQueue() {
+        Node empty = new Node(null);
+        head = empty;
+        tail = empty;
+    }
+
+    /**
+     * Adds an event to the end of the queue, must only be called by the producer thread.
+     * @param event event to add
+     */
+    void offer(Event event) {
+        Node node = new Node(event);
+        tail.next = node;
+        tail = node;
+    }
+
+    /**
+     * Takes the oldest event out of the queue, must only be called by the consumer thread.
+     * @return the oldest event or null if the queue is empty
+     */
+    Event poll() {
+        Node next = head.next;
+        if (next == null) {
+            return null;
+        }
+        Event event = next.event;
+        next.event = null;
+        head = next;
+        return event;
+    }
+}
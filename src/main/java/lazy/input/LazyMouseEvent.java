@@ -6,24 +6,27 @@ public class LazyMouseEvent {
     private boolean consumed;
     private final float x, y, px, py;
     private final int scrollWheelRotation;
+    private final boolean controlDown;
 
     LazyMouseEvent(float x, float y, float px, float py) {
         scrollWheelRotation = 0;
+        controlDown = false;
         this.x = x;
         this.y = y;
         this.px = px;
         this.py = py;
     }
 
-    LazyMouseEvent(int scrollWheelRotation) {
+    LazyMouseEvent(int scrollWheelRotation, boolean controlDown) {
         this.scrollWheelRotation = scrollWheelRotation;
+        this.controlDown = controlDown;
         x = app.mouseX;
         y = app.mouseY;
         px = app.pmouseX;
         py = app.pmouseY;
     }
 
-    boolean isConsumed() {
+    public boolean isConsumed() {
         return consumed;
     }
 
@@ -51,6 +54,14 @@ public class LazyMouseEvent {
         return scrollWheelRotation;
     }
 
+    /**
+     * Whether control was held while the mouse wheel moved, always false for the other mouse events.
+     * @return true if control was held
+     */
+    public boolean isControlDown() {
+        return controlDown;
+    }
+
     @Override
     public String toString() {
         return "x " + x + " | " + "px " + px + " | " + "y " + y + " | " + "py " + py;
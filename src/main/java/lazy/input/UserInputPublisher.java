@@ -2,6 +2,7 @@ package lazy.input;
 
 import lazy.stores.UndoRedoStore;
 import lazy.utils.KeyCodes;
+import processing.event.Event;
 import processing.event.KeyEvent;
 import processing.event.MouseEvent;
 
@@ -12,12 +13,19 @@ import static lazy.stores.GlobalReferences.app;
 /**
  * Internal LazyGui class used to register with PApplet user input events.
  * Must be public for PApplet to be able to reach it, but not meant to be used or even looked at by library users.
+ * The events are only queued when they arrive, possibly on the windowing thread,
+ * and get handled on the animation thread before the sketch's draw() and again at the start of LazyGui's draw,
+ * so that the gui state is only ever changed by one thread.
+ * Mouse movements and drags queued right after each other get merged into one event with the same total movement.
  */
 public class UserInputPublisher {
     public static boolean mouseFallsThroughThisFrame = false;
     private static UserInputPublisher singleton;
     private final CopyOnWriteArrayList<UserInputSubscriber> subscribers = new CopyOnWriteArrayList<>();
     private float prevX = -1, prevY = -1;
+    private static volatile int inputEventCount = 0;
+    private static long coalescedEventCount = 0;
+    private final InputEventQueue eventQueue = new InputEventQueue();
 
     public static void initSingleton() {
         if (singleton == null) {
@@ -33,14 +41,83 @@ public class UserInputPublisher {
         // the reference passed here is the only reason to have this be a singleton instance rather than a fully static class with no instance
         app.registerMethod("keyEvent", this);
         app.registerMethod("mouseEvent", this);
+        app.registerMethod("pre", this);
     }
 
-    public static void subscribe(UserInputSubscriber subscriber) {
-        singleton.subscribers.add(0, subscriber);
+    /**
+     * Stops listening to the sketch input events and forgets all subscribers.
+     */
+    public static void shutdown() {
+        if (singleton == null) {
+            return;
+        }
+        app.unregisterMethod("keyEvent", singleton);
+        app.unregisterMethod("mouseEvent", singleton);
+        app.unregisterMethod("pre", singleton);
+        singleton.subscribers.clear();
+        singleton = null;
+    }
+
+    /**
+     * Gets the number of key and mouse events received so far, for telling whether there was any input between two frames.
+     * Only the input thread ever increments it.
+     * @return count of all input events
+     */
+    public static int getInputEventCount() {
+        return inputEventCount;
+    }
+
+    /**
+     * Gets the number of mouse move and drag events that were merged into the event after them instead of being handled.
+     * @return count of merged events
+     */
+    public static long getCoalescedEventCount() {
+        return coalescedEventCount;
     }
 
-    public static void setFocus(UserInputSubscriber subscriber){
-        singleton.subscribers.remove(subscriber);
+    /**
+     * Handles every event queued since the last call, on the thread calling this.
+     */
+    public static void handleQueuedEvents() {
+        if (singleton == null) {
+            return;
+        }
+        singleton.drainEventQueue();
+    }
+
+    /**
+     * Method used for handling the queued input events before the sketch's draw(), not meant to be used by the library user.
+     */
+    @SuppressWarnings("unused")
+    public void pre() {
+        drainEventQueue();
+    }
+
+    private void drainEventQueue() {
+        Event event = eventQueue.poll();
+        while (event != null) {
+            Event next = eventQueue.poll();
+            if (isMergedIntoNext(event, next)) {
+                // the previous mouse position stays where it was before this event, so the next one carries both movements
+                coalescedEventCount++;
+            } else if (event instanceof KeyEvent) {
+                handleKeyEvent((KeyEvent) event);
+            } else if (event instanceof MouseEvent) {
+                handleMouseEvent((MouseEvent) event);
+            }
+            event = next;
+        }
+    }
+
+    private static boolean isMergedIntoNext(Event event, Event next) {
+        if (!(event instanceof MouseEvent) || !(next instanceof MouseEvent)) {
+            return false;
+        }
+        int action = event.getAction();
+        return (action == MouseEvent.MOVE || action == MouseEvent.DRAG) && next.getAction() == action;
+    }
+
+    public static void subscribe(UserInputSubscriber subscriber) {
         singleton.subscribers.add(0, subscriber);
     }
 
@@ -50,6 +127,11 @@ public class UserInputPublisher {
      */
     @SuppressWarnings("unused")
     public void keyEvent(KeyEvent event){
+        inputEventCount++;
+        eventQueue.offer(event);
+    }
+
+    private void handleKeyEvent(KeyEvent event){
         switch(event.getAction()){
             case KeyEvent.PRESS:
                 keyPressed(event);
@@ -96,6 +178,11 @@ public class UserInputPublisher {
      */
     @SuppressWarnings("unused")
     public void mouseEvent(MouseEvent event) {
+        inputEventCount++;
+        eventQueue.offer(event);
+    }
+
+    private void handleMouseEvent(MouseEvent event) {
         updatePreviousMousePositionBeforeHandling(event);
         switch(event.getAction()){
             case MouseEvent.MOVE:
@@ -177,7 +264,7 @@ public class UserInputPublisher {
 
     void mouseWheel(MouseEvent event) {
         int value = - event.getCount();
-        LazyMouseEvent e = new LazyMouseEvent(value);
+        LazyMouseEvent e = new LazyMouseEvent(value, event.isControlDown());
         for (UserInputSubscriber subscriber : subscribers) {
             subscriber.mouseWheelMoved(e);
             if (e.isConsumed()) {
@@ -1,14 +1,17 @@
 package lazy.nodes;
 
 import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
 import com.google.gson.annotations.Expose;
 
 
 import lazy.*;
 import lazy.input.LazyKeyEvent;
 import lazy.input.LazyMouseEvent;
+import lazy.stores.ChangeListenerStore;
 import lazy.stores.FontStore;
-import lazy.stores.NodeTree;
+import lazy.stores.HoverStore;
+import lazy.stores.NodeRegistry;
 import lazy.stores.UndoRedoStore;
 import lazy.themes.ThemeColorType;
 import lazy.themes.ThemeStore;
@@ -44,18 +47,38 @@ public abstract class AbstractNode {
 
     public float masterInlineNodeHeightInCells = 1;
     public boolean isInlineNodeDragged = false;
-    public boolean isMouseOverNode = false;
+
+    private volatile long version = 0;
+    private long versionSeenByHasChanged = -1;
 
     public void setIsMouseOverThisNodeOnly(){
-        isMouseOverNode = true;
-        NodeTree.setAllOtherNodesMouseOverToFalse(this);
+        HoverStore.setHoveredNode(this);
+    }
+
+    /**
+     * Whether the mouse is over this node, or over another node that shares its highlight with this one.
+     * @return true if this node should be drawn highlighted
+     */
+    public boolean isMouseOverNode(){
+        AbstractNode hoveredNode = HoverStore.getHoveredNode();
+        return hoveredNode == this || (hoveredNode != null && hoveredNode.isSharingMouseOverWith(this));
+    }
+
+    /**
+     * Lets a node highlight other nodes it controls while the mouse is over it.
+     * @param otherNode any other node asking whether it should be highlighted
+     * @return true if the other node should be highlighted along with this one
+     */
+    protected boolean isSharingMouseOverWith(AbstractNode otherNode){
+        return false;
     }
 
     protected AbstractNode(NodeType type, String path, FolderNode parentFolder) {
-        this.path = path;
-        this.name = getNameFromPath(path);
+        this.path = NodePaths.normalize(path);
+        this.name = getNameFromPath(this.path);
         this.type = type;
         this.parent = parentFolder;
+        NodeRegistry.register(this);
     }
 
     @SuppressWarnings("unused")
@@ -85,7 +108,7 @@ public abstract class AbstractNode {
      */
     public final void updateDrawInlineNode(PGraphics pg) {
         // the node knows its absolute position but here the current matrix is already translated to it
-        if(isMouseOverNode){
+        if(isMouseOverNode()){
             highlightNodeBackground(pg);
         }
         pg.pushMatrix();
@@ -101,12 +124,46 @@ public abstract class AbstractNode {
     }
 
     /**
-     * Secondary update function, called for all nodes every frame, regardless of their parent window's closed state.
+     * Secondary update function, called every frame regardless of the parent window's closed state,
+     * but only for nodes subscribed to the TickStore, so override it and subscribe when a node has work to do every frame.
      */
     public void updateValuesRegardlessOfParentWindowOpenness(){
 
     }
 
+    /**
+     * Whether this node currently looks different from one frame to the next even when nothing is hovered and no value changes,
+     * which stops its window from reusing its cached image.
+     * @return true while the node needs to be redrawn every frame
+     */
+    public boolean isAnimating(){
+        return false;
+    }
+
+    /**
+     * Gets the x position of this node on the canvas it is being drawn on, for shaders working with gl_FragCoord.
+     * It differs from pos.x when the parent window is drawn into its own cached image.
+     * @return x position on the current canvas
+     */
+    protected float getCanvasPosX(){
+        if(parent == null || parent.window == null){
+            return pos.x;
+        }
+        return pos.x - parent.window.getImageOffsetX();
+    }
+
+    /**
+     * Gets the y position of this node on the canvas it is being drawn on, for shaders working with gl_FragCoord.
+     * @see AbstractNode#getCanvasPosX()
+     * @return y position on the current canvas
+     */
+    protected float getCanvasPosY(){
+        if(parent == null || parent.window == null){
+            return pos.y;
+        }
+        return pos.y - parent.window.getImageOffsetY();
+    }
+
     protected void highlightNodeBackground(PGraphics pg) {
         pg.noStroke();
         pg.fill(ThemeStore.getColor(ThemeColorType.FOCUS_BACKGROUND));
@@ -151,7 +208,7 @@ public abstract class AbstractNode {
         float rectHeight = cell * 0.25f;
         pg.rectMode(CENTER);
         pg.translate(size.x - cell * 0.5f, size.y * 0.5f);
-        if(isMouseOverNode){
+        if(isMouseOverNode()){
             pg.stroke(ThemeStore.getColor(ThemeColorType.FOCUS_FOREGROUND));
         }else{
             pg.stroke(ThemeStore.getColor(ThemeColorType.NORMAL_FOREGROUND));
@@ -172,7 +229,7 @@ public abstract class AbstractNode {
 
     public void mousePressedOverNode(float x, float y) {
         isInlineNodeDragged = true;
-        isMouseOverNode = true;
+        HoverStore.setHoveredNode(this);
     }
 
     public void mouseReleasedAnywhere(LazyMouseEvent e) {
@@ -195,8 +252,16 @@ public abstract class AbstractNode {
 
     }
 
+    /**
+     * Whether this node wants the mouse wheel right now even in a window that scrolls, like a slider being dragged or typed into.
+     * @return true if the wheel should go to this node instead of scrolling its window
+     */
+    public boolean isCapturingMouseWheel() {
+        return false;
+    }
+
     public void mouseDragNodeContinue(LazyMouseEvent e) {
-        isMouseOverNode = true;
+        HoverStore.setHoveredNode(this);
     }
 
     public boolean isParentWindowVisible(){
@@ -213,11 +278,59 @@ public abstract class AbstractNode {
         return !parent.window.closed;
     }
 
+    /**
+     * Gets the number of times the value of this node has changed, it only ever goes up.
+     * Folders count the changes of all of their descendants, so a folder can be change-checked without visiting its children.
+     * @return current version of this node's value
+     */
+    public long getVersion(){
+        return version;
+    }
+
+    /**
+     * Checks whether the value changed since the last time this was called, the first call always returns true.
+     * There is only one "last time" per node, so callers asking about the same node share it.
+     * @return true if the version is different from the one seen by the previous call
+     */
+    public boolean hasChangedSinceLastCheck(){
+        long currentVersion = version;
+        boolean changed = currentVersion != versionSeenByHasChanged;
+        versionSeenByHasChanged = currentVersion;
+        return changed;
+    }
+
+    /**
+     * Value nodes call this whenever their value actually changes.
+     * Also bumps the version of every folder above this node and lets the change listeners know.
+     */
+    protected void bumpVersion(){
+        version++;
+        for (AbstractNode ancestor = parent; ancestor != null; ancestor = ancestor.parent) {
+            ancestor.version++;
+        }
+        ChangeListenerStore.onNodeChanged(this);
+    }
+
     // used by value nodes to load state from json
     public void overwriteState(JsonElement loadedNode){
 
     }
 
+    /**
+     * Used by value nodes that keep their values in the ValueStore instead of in @Expose fields to add them to the saved json.
+     * @param json this node's json object, already containing all of its @Expose fields
+     */
+    public void writeStoredValues(JsonObject json){
+
+    }
+
+    /**
+     * Used by value nodes that keep their values in the ValueStore to give their slots back once the node is unregistered.
+     */
+    public void releaseStoredValues(){
+
+    }
+
     public String getConsolePrintableValue(){
         return "";
     }
@@ -231,12 +344,7 @@ public abstract class AbstractNode {
         if ("".equals(path)) { // this is the root node
             return getClassNameAsSpaceSeparatedLowerCase(app.getClass().getSimpleName());
         }
-        String[] split = NodePaths.splitByUnescapesSlashesWithoutRemovingThem(path);
-        if (split.length == 0) {
-            return "";
-        }
-        String nameWithoutPrefixSlash = NodePaths.getNameWithoutPrefixSlash(split[split.length - 1]);
-        return NodePaths.getDisplayStringWithoutEscapes(nameWithoutPrefixSlash);
+        return NodePaths.parse(path).name;
     }
 
     private String getClassNameAsSpaceSeparatedLowerCase(String className){
@@ -262,7 +370,7 @@ public abstract class AbstractNode {
 
 
     protected void strokeForegroundBasedOnMouseOver(PGraphics pg) {
-        if (isMouseOverNode) {
+        if (isMouseOverNode()) {
             pg.stroke(ThemeStore.getColor(ThemeColorType.FOCUS_FOREGROUND));
         } else {
             pg.stroke(ThemeStore.getColor(ThemeColorType.NORMAL_FOREGROUND));
@@ -270,7 +378,7 @@ public abstract class AbstractNode {
     }
 
     protected void fillForegroundBasedOnMouseOver(PGraphics pg) {
-        if(isMouseOverNode){
+        if(isMouseOverNode()){
             pg.fill(ThemeStore.getColor(ThemeColorType.FOCUS_FOREGROUND));
         } else {
             pg.fill(ThemeStore.getColor(ThemeColorType.NORMAL_FOREGROUND));
@@ -279,7 +387,7 @@ public abstract class AbstractNode {
 
     @SuppressWarnings("unused")
     protected void strokeBackgroundBasedOnMouseOver(PGraphics pg) {
-        if (isMouseOverNode) {
+        if (isMouseOverNode()) {
             pg.stroke(ThemeStore.getColor(ThemeColorType.FOCUS_BACKGROUND));
         } else {
             pg.stroke(ThemeStore.getColor(ThemeColorType.NORMAL_BACKGROUND));
@@ -287,7 +395,7 @@ public abstract class AbstractNode {
     }
 
     protected void fillBackgroundBasedOnMouseOver(PGraphics pg) {
-        if(isMouseOverNode){
+        if(isMouseOverNode()){
             pg.fill(ThemeStore.getColor(ThemeColorType.FOCUS_BACKGROUND));
         } else {
             pg.fill(ThemeStore.getColor(ThemeColorType.NORMAL_BACKGROUND));
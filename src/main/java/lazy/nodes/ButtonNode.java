@@ -21,7 +21,7 @@ public class ButtonNode extends AbstractNode {
     @Override
     protected void drawNodeBackground(PGraphics pg) {
         boolean mousePressed = app.mousePressed;
-        valueBoolean = isMouseOverNode && mousePressedLastFrame && !mousePressed;
+        valueBoolean = isMouseOverNode() && mousePressedLastFrame && !mousePressed;
         mousePressedLastFrame = mousePressed;
     }
 
@@ -40,7 +40,7 @@ public class ButtonNode extends AbstractNode {
         float outerButtonSize = cell * 0.6f;
         pg.rect(0,0, outerButtonSize, outerButtonSize);
         pg.stroke(ThemeStore.getColor(isInlineNodeDragged ? ThemeColorType.FOCUS_FOREGROUND : ThemeColorType.NORMAL_FOREGROUND));
-        if(isMouseOverNode){
+        if(isMouseOverNode()){
             if (isInlineNodeDragged){
                 pg.fill(ThemeStore.getColor(ThemeColorType.FOCUS_FOREGROUND));
             }else{
@@ -0,0 +1,147 @@
+package lazy.nodes;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+/**
+ * The children of a folder, counting every change that actually altered the list so that windows can cache their layout
+ * and only rebuild it when a child was added, removed or moved.
+ */
+public class ChildNodeList extends CopyOnWriteArrayList<AbstractNode> {
+    private static final long serialVersionUID = 1L;
+
+    private volatile int modificationCount = 0;
+
+    /**
+     * Gets the number of times this list has been changed, it only ever goes up.
+     * @return current modification count
+     */
+    public int getModificationCount() {
+        return modificationCount;
+    }
+
+    @Override
+    public boolean add(AbstractNode node) {
+        boolean changed = super.add(node);
+        modificationCount++;
+        return changed;
+    }
+
+    @Override
+    public void add(int index, AbstractNode node) {
+        super.add(index, node);
+        modificationCount++;
+    }
+
+    @Override
+    public boolean addAll(Collection<? extends AbstractNode> nodes) {
+        boolean changed = super.addAll(nodes);
+        if (changed) {
+            modificationCount++;
+        }
+        return changed;
+    }
+
+    @Override
+    public boolean addAll(int index, Collection<? extends AbstractNode> nodes) {
+        boolean changed = super.addAll(index, nodes);
+        if (changed) {
+            modificationCount++;
+        }
+        return changed;
+    }
+
+    @Override
+    public boolean addIfAbsent(AbstractNode node) {
+        boolean changed = super.addIfAbsent(node);
+        if (changed) {
+            modificationCount++;
+        }
+        return changed;
+    }
+
+    @Override
+    public int addAllAbsent(Collection<? extends AbstractNode> nodes) {
+        int addedCount = super.addAllAbsent(nodes);
+        if (addedCount > 0) {
+            modificationCount++;
+        }
+        return addedCount;
+    }
+
+    @Override
+    public AbstractNode set(int index, AbstractNode node) {
+        AbstractNode previous = super.set(index, node);
+        if (previous != node) {
+            modificationCount++;
+        }
+        return previous;
+    }
+
+    @Override
+    public AbstractNode remove(int index) {
+        AbstractNode removed = super.remove(index);
+        modificationCount++;
+        return removed;
+    }
+
+    @Override
+    public boolean remove(Object node) {
+        boolean changed = super.remove(node);
+        if (changed) {
+            modificationCount++;
+        }
+        return changed;
+    }
+
+    @Override
+    public boolean removeAll(Collection<?> nodes) {
+        boolean changed = super.removeAll(nodes);
+        if (changed) {
+            modificationCount++;
+        }
+        return changed;
+    }
+
+    @Override
+    public boolean retainAll(Collection<?> nodes) {
+        boolean changed = super.retainAll(nodes);
+        if (changed) {
+            modificationCount++;
+        }
+        return changed;
+    }
+
+    @Override
+    public boolean removeIf(Predicate<? super AbstractNode> filter) {
+        boolean changed = super.removeIf(filter);
+        if (changed) {
+            modificationCount++;
+        }
+        return changed;
+    }
+
+    @Override
+    public void replaceAll(UnaryOperator<AbstractNode> operator) {
+        super.replaceAll(operator);
+        modificationCount++;
+    }
+
+    @Override
+    public void sort(Comparator<? super AbstractNode> comparator) {
+        super.sort(comparator);
+        modificationCount++;
+    }
+
+    @Override
+    public void clear() {
+        if (isEmpty()) {
+            return;
+        }
+        super.clear();
+        modificationCount++;
+    }
+}
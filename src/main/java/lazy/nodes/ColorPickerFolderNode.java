@@ -6,6 +6,7 @@ import com.google.gson.annotations.Expose;
 import lazy.*;
 import lazy.input.LazyKeyEvent;
 import lazy.stores.UndoRedoStore;
+import lazy.stores.ValueStore;
 import lazy.utils.KeyCodes;
 import lazy.utils.ClipboardUtils;
 import lazy.stores.JsonSaveStore;
@@ -19,7 +20,7 @@ public class ColorPickerFolderNode extends FolderNode {
 
     @Expose
     String hexString;
-    private int hex;
+    private final int hexSlot = ValueStore.allocateIntSlot();
     @SuppressWarnings("FieldCanBeLocal")
     private final String HEX_NODE_NAME = "hex";
     private final String HUE_NODE_NAME = "hue";
@@ -64,17 +65,18 @@ public class ColorPickerFolderNode extends FolderNode {
         float previewRectSize = cell * 0.6f;
         pg.translate(size.x - cell * 0.5f, size.y * 0.5f);
         pg.rectMode(CENTER);
-        pg.fill(hex);
+        pg.fill(getHex());
         pg.rect(0, 0, previewRectSize, previewRectSize);
     }
 
     public void loadValuesFromHex(boolean setDefaults) {
         lazyInitNodes();
         PGraphics colorProvider = getColorStore();
-        ((ColorSliderNode) findChildByName(HUE_NODE_NAME)).valueFloat = colorProvider.hue(hex);
-        ((ColorSliderNode) findChildByName(SAT_NODE_NAME)).valueFloat = colorProvider.saturation(hex);
-        ((ColorSliderNode) findChildByName(BR_NODE_NAME)).valueFloat = colorProvider.brightness(hex);
-        ((ColorSliderNode) findChildByName(ALPHA_NODE_NAME)).valueFloat = colorProvider.alpha(hex);
+        int hex = getHex();
+        ((ColorSliderNode) findChildByName(HUE_NODE_NAME)).storeValueFloat(colorProvider.hue(hex));
+        ((ColorSliderNode) findChildByName(SAT_NODE_NAME)).storeValueFloat(colorProvider.saturation(hex));
+        ((ColorSliderNode) findChildByName(BR_NODE_NAME)).storeValueFloat(colorProvider.brightness(hex));
+        ((ColorSliderNode) findChildByName(ALPHA_NODE_NAME)).storeValueFloat(colorProvider.alpha(hex));
         if (setDefaults) {
             ((ColorSliderNode) findChildByName(HUE_NODE_NAME)).valueFloatDefault = colorProvider.hue(hex);
             ((ColorSliderNode) findChildByName(SAT_NODE_NAME)).valueFloatDefault = colorProvider.saturation(hex);
@@ -93,12 +95,16 @@ public class ColorPickerFolderNode extends FolderNode {
     }
 
     public PickerColor getColor() {
-        return new PickerColor(hex, hue(), saturation(), brightness(), alpha());
+        return new PickerColor(getHex(), hue(), saturation(), brightness(), alpha());
+    }
+
+    public int getHex() {
+        return ValueStore.getInt(hexSlot);
     }
 
     private float getValue(String nodeName) {
         ColorSliderNode node = ((ColorSliderNode) findChildByName(nodeName));
-        return node.valueFloat;
+        return node.getValueFloat();
     }
 
     float hue() {
@@ -125,8 +131,16 @@ public class ColorPickerFolderNode extends FolderNode {
         if (hex == 0) {
             hex = unhex("00010101");
         }
-        this.hex = hex;
-        hexString = hex(hex);
+        if (hex != getHex() || hexString == null) {
+            ValueStore.setInt(hexSlot, hex);
+            hexString = hex(hex);
+            bumpVersion();
+        }
+    }
+
+    @Override
+    public void releaseStoredValues() {
+        ValueStore.freeIntSlot(hexSlot);
     }
 
     @Override
@@ -164,7 +178,7 @@ public class ColorPickerFolderNode extends FolderNode {
 
     public void setHue(float hueToAdd) {
         ColorSliderNode hueSlider = (ColorSliderNode) findChildByName(HUE_NODE_NAME);
-        hueSlider.valueFloat = LazyGui.hueModulo(hueSlider.valueFloat + hueToAdd);
+        hueSlider.storeValueFloat(LazyGui.hueModulo(hueSlider.getValueFloat() + hueToAdd));
         loadValuesFromHSBA();
     }
 }
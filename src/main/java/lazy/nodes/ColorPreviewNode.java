@@ -33,7 +33,7 @@ class ColorPreviewNode extends AbstractNode {
 
     private void drawCheckerboard(PGraphics pg) {
         PShader checkerboardShader = ShaderStore.getShader(checkerboardShaderPath);
-        checkerboardShader.set("quadPos", pos.x, pos.y);
+        checkerboardShader.set("quadPos", getCanvasPosX(), getCanvasPosY());
         pg.shader(checkerboardShader);
         pg.rectMode(CORNER);
         pg.fill(1);
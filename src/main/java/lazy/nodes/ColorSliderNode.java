@@ -77,7 +77,7 @@ abstract class ColorSliderNode extends SliderNode {
     @Override
     protected void updateBackgroundShader(PGraphics pg) {
         PShader bgShader = ShaderStore.getShader(colorShaderPath);
-        bgShader.set("quadPos", pos.x, pos.y);
+        bgShader.set("quadPos", getCanvasPosX(), getCanvasPosY());
         bgShader.set("quadSize", size.x, size.y);
         bgShader.set("hueValue", parentColorPickerFolder.hue());
         bgShader.set("brightnessValue", parentColorPickerFolder.brightness());
@@ -96,7 +96,7 @@ abstract class ColorSliderNode extends SliderNode {
     }
 
     protected int foregroundMouseOverBrightnessAwareColor(){
-        if(isMouseOverNode){
+        if(isMouseOverNode()){
             if(parentColorPickerFolder.brightness() > 0.7f){
                 return NormColorStore.color(0);
             }else{
@@ -126,10 +126,11 @@ abstract class ColorSliderNode extends SliderNode {
 
         @Override
         protected boolean tryConstrainValue() {
-            while (valueFloat < 0) {
-                valueFloat += 1;
+            float hue = getValueFloat();
+            while (hue < 0) {
+                hue += 1;
             }
-            valueFloat %= 1;
+            storeValueFloat(hue % 1);
             return false;
         }
     }
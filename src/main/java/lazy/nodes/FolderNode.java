@@ -15,8 +15,6 @@ import lazy.windows.Window;
 import lazy.windows.WindowManager;
 import processing.core.PGraphics;
 
-import java.util.concurrent.CopyOnWriteArrayList;
-
 import static lazy.stores.LayoutStore.cell;
 import static processing.core.PConstants.CENTER;
 import static processing.core.PConstants.CORNER;
@@ -27,11 +25,12 @@ import static processing.core.PConstants.CORNER;
 public class FolderNode extends AbstractNode {
 
     /**
-     * CopyOnWriteArrayList is needed to avoid concurrent modification
-     * because the children get drawn by one thread and user input changes the list from another thread
+     * CopyOnWriteArrayList is needed to avoid concurrent modification because the children get added while being iterated over,
+     * user input is handled on the animation thread but sketches can still create nodes from threads of their own,
+     * the ChildNodeList subclass also counts the changes so that windows know when to lay out their rows again
      */
     @Expose
-    public final CopyOnWriteArrayList<AbstractNode> children = new CopyOnWriteArrayList<>();
+    public final ChildNodeList children = new ChildNodeList();
 
     @Expose
     public
@@ -76,7 +75,7 @@ public class FolderNode extends AbstractNode {
         }
         if (enabledNode != null &&
                 enabledNode.className.contains("ToggleNode") &&
-                ((ToggleNode) enabledNode).valueBoolean) {
+                ((ToggleNode) enabledNode).getValueBoolean()) {
             pg.fill(ThemeStore.getColor(ThemeColorType.FOCUS_FOREGROUND));
         }
         pg.rect(0, 0, previewRectSize, miniCell); // handle
@@ -132,7 +131,7 @@ public class FolderNode extends AbstractNode {
                     WindowManager.uncoverOrCreateWindow(this, false, posX, posY, sizeX);
                     // open it at this spot
                 }else if(window != null){
-                    window.closed = true;
+                    WindowManager.closeWindow(window);
                 }
             }
         }
@@ -20,11 +20,11 @@ class GradientColorNode extends ColorPickerFolderNode {
     }
 
     float getGradientPos() {
-        return ((SliderNode) findChildByName("pos")).valueFloat;
+        return ((SliderNode) findChildByName("pos")).getValueFloat();
     }
 
     boolean isSkipped(){
-        return !((ToggleNode) findChildByName("active")).valueBoolean;
+        return !((ToggleNode) findChildByName("active")).getValueBoolean();
     }
 
     @Override
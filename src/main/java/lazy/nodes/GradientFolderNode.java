@@ -3,6 +3,7 @@ package lazy.nodes;
 import com.google.gson.JsonElement;
 import lazy.PickerColor;
 import lazy.stores.ShaderStore;
+import lazy.stores.TickStore;
 import lazy.utils.ArrayListBuilder;
 import lazy.stores.JsonSaveStore;
 import processing.core.PGraphics;
@@ -41,6 +42,8 @@ public class GradientFolderNode extends FolderNode {
             children.add(createGradientColorPicker(path + "/" + getColorNameByIndex(i), iNorm, alpha, iNorm, i % 2 == 0));
         }
         JsonSaveStore.overwriteWithLoadedStateIfAny(this);
+        // the gradient output needs to follow its colors every frame, so it never unsubscribes
+        TickStore.subscribe(this);
     }
 
     @Override
@@ -2,6 +2,7 @@ package lazy.nodes;
 
 import lazy.input.LazyKeyEvent;
 import lazy.input.LazyMouseEvent;
+import lazy.stores.HoverStore;
 import lazy.utils.KeyCodes;
 import lazy.themes.ThemeColorType;
 import lazy.themes.ThemeStore;
@@ -27,10 +28,11 @@ class PlotDisplayNode extends AbstractNode {
     protected void drawNodeBackground(PGraphics pg) {
         masterInlineNodeHeightInCells = floor(size.x / cell);
         drawPlotGrid(pg);
-        if(isMouseOverNode){
-            sliderX.isMouseOverNode = true;
-            sliderY.isMouseOverNode = true;
-        }
+    }
+
+    @Override
+    protected boolean isSharingMouseOverWith(AbstractNode otherNode) {
+        return otherNode == sliderX || otherNode == sliderY;
     }
 
     @Override
@@ -55,8 +57,8 @@ class PlotDisplayNode extends AbstractNode {
         float valueChangePerCellY = valueChangePerCell * sliderY.valueFloatPrecision;
         float valueRangeX = cellCountX * valueChangePerCellX;
         float valueRangeY = cellCountY * valueChangePerCellY;
-        float nearValueX = valueChangePerCellX / 2 + sliderX.valueFloat % valueChangePerCellX;
-        float nearValueY = valueChangePerCellY / 2 + sliderY.valueFloat % valueChangePerCellY;
+        float nearValueX = valueChangePerCellX / 2 + sliderX.getValueFloat() % valueChangePerCellX;
+        float nearValueY = valueChangePerCellY / 2 + sliderY.getValueFloat() % valueChangePerCellY;
         pg.translate(w / 2f + 1, h / 2f);
         float valueStartX = -valueChangePerCellX * 2;
         float valueEndX = valueRangeX + valueChangePerCellX * 2;
@@ -82,8 +84,8 @@ class PlotDisplayNode extends AbstractNode {
         // find zero position on screen
         float zeroSize = min(w,h) * 0.08f;
         float zeroScreenRange = w / 2 - zeroSize / 2;
-        float zeroScreenX = constrain(map(-sliderX.valueFloat, -valueRangeX / 2f, valueRangeX / 2f, -w / 2f, w / 2f), -zeroScreenRange, zeroScreenRange);
-        float zeroScreenY = constrain(map(-sliderY.valueFloat, -valueRangeY / 2f, valueRangeY / 2f, -h / 2f, h / 2f), -zeroScreenRange, zeroScreenRange);
+        float zeroScreenX = constrain(map(-sliderX.getValueFloat(), -valueRangeX / 2f, valueRangeX / 2f, -w / 2f, w / 2f), -zeroScreenRange, zeroScreenRange);
+        float zeroScreenY = constrain(map(-sliderY.getValueFloat(), -valueRangeY / 2f, valueRangeY / 2f, -h / 2f, h / 2f), -zeroScreenRange, zeroScreenRange);
 
         // draw zero cross or arrow
         strokeForegroundBasedOnMouseOver(pg);
@@ -126,24 +128,26 @@ class PlotDisplayNode extends AbstractNode {
         return isInlineNodeDragged ||
                 sliderX.isInlineNodeDragged ||
                 sliderY.isInlineNodeDragged ||
-                isMouseOverNode ||
-                sliderX.isMouseOverNode ||
-                sliderY.isMouseOverNode;
+                isMouseOverNode() ||
+                sliderX.isMouseOverNode() ||
+                sliderY.isMouseOverNode();
     }
 
 
     @Override
     public void mousePressedOverNode(float x, float y) {
-        super.mousePressedOverNode(x, y);
         sliderY.verticalMouseMode = true;
         sliderX.mousePressedOverNode(x, y);
         sliderY.mousePressedOverNode(x, y);
+        // called last so that the plot and not one of its sliders ends up as the hovered node
+        super.mousePressedOverNode(x, y);
     }
 
     @Override
     public void mouseDragNodeContinue(LazyMouseEvent e) {
         sliderX.mouseDragNodeContinue(e);
         sliderY.mouseDragNodeContinue(e);
+        HoverStore.setHoveredNode(this);
     }
 
 
@@ -160,6 +164,11 @@ class PlotDisplayNode extends AbstractNode {
         sliderY.mouseWheelMovedOverNode(x, y, dir);
     }
 
+    @Override
+    public boolean isCapturingMouseWheel() {
+        return isInlineNodeDragged || sliderX.isCapturingMouseWheel() || sliderY.isCapturingMouseWheel();
+    }
+
     public void keyPressedOverNode(LazyKeyEvent e, float x, float y) {
         super.keyPressedOverNode(e, x, y);
         if((e.isControlDown() && e.getKeyCode() == KeyCodes.C) || (e.isControlDown() && e.getKeyCode() == KeyCodes.V)){
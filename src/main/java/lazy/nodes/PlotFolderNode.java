@@ -49,17 +49,29 @@ public class PlotFolderNode extends FolderNode {
 
     public PVector getVectorValue() {
         return new PVector(
-                sliderX.valueFloat,
-                sliderY.valueFloat,
-                sliderZ == null ? 0 : sliderZ.valueFloat
+                sliderX.getValueFloat(),
+                sliderY.getValueFloat(),
+                sliderZ == null ? 0 : sliderZ.getValueFloat()
         );
     }
 
+    public float getX() {
+        return sliderX.getValueFloat();
+    }
+
+    public float getY() {
+        return sliderY.getValueFloat();
+    }
+
+    public float getZ() {
+        return sliderZ == null ? 0 : sliderZ.getValueFloat();
+    }
+
     public void setVectorValue(float x, float y, float z) {
-        sliderX.valueFloat = x;
-        sliderY.valueFloat = y;
+        sliderX.storeValueFloat(x);
+        sliderY.storeValueFloat(y);
         if(sliderZ != null){
-            sliderZ.valueFloat = z;
+            sliderZ.storeValueFloat(z);
         }
     }
 
@@ -2,6 +2,7 @@ package lazy.nodes;
 
 import com.google.gson.JsonElement;
 import com.google.gson.annotations.Expose;
+import lazy.stores.TickStore;
 import lazy.stores.UndoRedoStore;
 import lazy.stores.JsonSaveStore;
 import processing.core.PGraphics;
@@ -44,6 +45,8 @@ public class RadioFolderNode extends FolderNode {
         JsonSaveStore.overwriteWithLoadedStateIfAny(this);
         checkForChildValueChange(); // loading from json may have changed the child booleans, so we need to reflect this in valueString and oldValues
         rememberCurrentValues();
+        // options can be switched by mouse, json load or undo, so this keeps watching them every frame
+        TickStore.subscribe(this);
     }
 
     public List<String> getOptions(){
@@ -77,8 +80,11 @@ public class RadioFolderNode extends FolderNode {
         for (AbstractNode child : children) {
             RadioItemNode option = (RadioItemNode) child;
             boolean oldValue = oldValues.get(option.path);
-            if (option.valueBoolean && !oldValue) {
-                valueString = option.valueString;
+            if (option.getValueBoolean() && !oldValue) {
+                if (!option.valueString.equals(valueString)) {
+                    valueString = option.valueString;
+                    bumpVersion();
+                }
                 setAllOtherOptionsToFalse(option);
                 break;
             }
@@ -90,7 +96,7 @@ public class RadioFolderNode extends FolderNode {
         for (AbstractNode child : children) {
             RadioItemNode option = (RadioItemNode) child;
             if(option.valueString.equals(optionToSet)){
-                option.valueBoolean = true;
+                option.setValueBoolean(true);
                 success = true;
             }
         }
@@ -104,7 +110,7 @@ public class RadioFolderNode extends FolderNode {
         for (AbstractNode child : children) {
             RadioItemNode option = (RadioItemNode) child;
             if(!option.path.equals(optionToKeepTrue.path)){
-                option.valueBoolean = false;
+                option.setValueBoolean(false);
             }
         }
     }
@@ -113,7 +119,7 @@ public class RadioFolderNode extends FolderNode {
         for (AbstractNode child : children) {
             RadioItemNode option = (RadioItemNode) child;
             if(!option.valueString.equals(optionToKeepTrue)){
-                option.valueBoolean = false;
+                option.setValueBoolean(false);
             }
         }
     }
@@ -121,7 +127,7 @@ public class RadioFolderNode extends FolderNode {
     private void rememberCurrentValues(){
         for (AbstractNode child : children) {
             RadioItemNode option = (RadioItemNode) child;
-            oldValues.put(option.path, option.valueBoolean);
+            oldValues.put(option.path, option.getValueBoolean());
         }
     }
 
@@ -141,7 +147,7 @@ public class RadioFolderNode extends FolderNode {
         for (AbstractNode child : children) {
             RadioItemNode option = (RadioItemNode) child;
             if(option.valueString.equals(oldValue)){
-                option.valueBoolean = true;
+                option.setValueBoolean(true);
                 setAllOtherOptionsToFalse(option);
             }
         }
@@ -14,8 +14,8 @@ class RadioItemNode extends ToggleNode {
 
     @Override
     public void mouseReleasedOverNode(float x, float y){
-        if(armed && !valueBoolean){ // can only toggle manually to true, toggle to false happens automatically
-            valueBoolean = true;
+        if(armed && !getValueBoolean()){ // can only toggle manually to true, toggle to false happens automatically
+            setValueBoolean(true);
             UndoRedoStore.onUndoableActionEnded();
         }
         armed = false;
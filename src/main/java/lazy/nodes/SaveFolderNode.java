@@ -1,6 +1,8 @@
 package lazy.nodes;
 
 import lazy.stores.JsonSaveStore;
+import lazy.stores.NodeRegistry;
+import lazy.stores.TickStore;
 import processing.core.PGraphics;
 
 import java.awt.*;
@@ -28,11 +30,12 @@ public class SaveFolderNode extends FolderNode {
         children.add(new ToggleNode(path + pathAutosaveOnExit , this, autosaveEnabled));
         childrenThatAreNotSaveFiles.addAll(children);
         updateStateList();
+        TickStore.subscribe(this);
     }
 
     @Override
     public void updateValuesRegardlessOfParentWindowOpenness() {
-        autosaveEnabled = ((ToggleNode) findChildByName(pathAutosaveOnExit)).valueBoolean;
+        autosaveEnabled = ((ToggleNode) findChildByName(pathAutosaveOnExit)).getValueBoolean();
     }
 
     void updateStateList() {
@@ -76,6 +79,9 @@ public class SaveFolderNode extends FolderNode {
             }
         }
         children.removeAll(childrenToRemove);
+        for (AbstractNode removedChild : childrenToRemove) {
+            NodeRegistry.unregister(removedChild);
+        }
         childrenToRemove.clear();
     }
 
@@ -11,7 +11,7 @@ public class SliderIntNode extends SliderNode {
     }
 
     public int getIntValue(){
-        return PApplet.floor(valueFloat);
+        return PApplet.floor(getValueFloat());
     }
 
     @Override
@@ -8,7 +8,9 @@ import com.google.gson.annotations.Expose;
 import lazy.input.LazyKeyEvent;
 import lazy.input.LazyMouseEvent;
 import lazy.stores.DelayStore;
+import lazy.stores.TickStore;
 import lazy.stores.UndoRedoStore;
+import lazy.stores.ValueStore;
 import lazy.utils.KeyCodes;
 import lazy.stores.ShaderStore;
 import lazy.themes.ThemeColorType;
@@ -27,8 +29,8 @@ import static processing.core.PApplet.*;
 
 public class SliderNode extends AbstractNode {
 
-    @Expose
-    public float valueFloat;
+    // serialized as "valueFloat" by writeStoredValues()
+    private final int valueFloatSlot = ValueStore.allocateFloatSlot();
     @Expose
     protected int currentPrecisionIndex;
     @Expose
@@ -39,7 +41,6 @@ public class SliderNode extends AbstractNode {
     final float valueFloatMax;
     final boolean valueFloatConstrained;
     float backgroundScrollX = 0;
-    float mouseDeltaX, mouseDeltaY;
     boolean verticalMouseMode = false;
     protected String numpadBufferValue = "";
     protected boolean showPercentIndicatorWhenConstrained = true;
@@ -68,14 +69,14 @@ public class SliderNode extends AbstractNode {
         super(NodeType.VALUE, path, parentFolder);
         valueFloatDefault = defaultValue;
         if (!Float.isNaN(defaultValue)) {
-            valueFloat = defaultValue;
+            storeValueFloat(defaultValue);
         }
         valueFloatMin = min;
         valueFloatMax = max;
         valueFloatConstrained = constrained &&
                 max != Float.MAX_VALUE && max != Integer.MAX_VALUE &&
                 min != -Float.MAX_VALUE && min != -Integer.MAX_VALUE;
-        setSensiblePrecision(nf(valueFloat, 0, 0));
+        setSensiblePrecision(nf(getValueFloat(), 0, 0));
         JsonSaveStore.overwriteWithLoadedStateIfAny(this);
     }
 
@@ -114,12 +115,8 @@ public class SliderNode extends AbstractNode {
     }
 
     void updateDrawSliderNodeBackground(PGraphics pg) {
-        if (isInlineNodeDragged || isMouseOverNode) {
-            updateValueMouseInteraction();
-            boolean constrainedThisFrame = tryConstrainValue();
-            drawBackgroundScroller(pg, constrainedThisFrame);
-            mouseDeltaX = 0;
-            mouseDeltaY = 0;
+        if (isInlineNodeDragged || isMouseOverNode()) {
+            drawBackgroundScroller(pg);
         }
     }
 
@@ -130,14 +127,11 @@ public class SliderNode extends AbstractNode {
         drawRightText(pg, getValueToDisplay() + (isNumpadInputActive() ? "_" : ""), false);
     }
 
-    private void drawBackgroundScroller(PGraphics pg, boolean constrainedThisFrame) {
-        if (!constrainedThisFrame) {
-            backgroundScrollX -= verticalMouseMode ? mouseDeltaY : mouseDeltaX;
-        }
+    private void drawBackgroundScroller(PGraphics pg) {
         float percentIndicatorNorm = 1f;
         boolean shouldShowPercentIndicator = valueFloatConstrained && showPercentIndicatorWhenConstrained;
         if (shouldShowPercentIndicator) {
-            percentIndicatorNorm = constrain(norm(valueFloat, valueFloatMin, valueFloatMax), 0, 1);
+            percentIndicatorNorm = constrain(norm(getValueFloat(), valueFloatMin, valueFloatMax), 0, 1);
             backgroundScrollX = 0;
         }
 
@@ -172,15 +166,15 @@ public class SliderNode extends AbstractNode {
         if (isNumpadInputActive() || wasNumpadInputActiveLastFrame) {
             return numpadBufferValue;
         }
-        if (Float.isNaN(valueFloat)) {
+        if (Float.isNaN(getValueFloat())) {
             return "NaN";
         }
         String valueToDisplay;
         boolean isFractionalPrecision = valueFloatPrecision % 1f > 0;
         if (isFractionalPrecision) {
-            valueToDisplay = nf(valueFloat, 0, getFractionalDigitLength(String.valueOf(valueFloatPrecision)));
+            valueToDisplay = nf(getValueFloat(), 0, getFractionalDigitLength(String.valueOf(valueFloatPrecision)));
         } else {
-            valueToDisplay = nf(floor(valueFloat), 0, 0);
+            valueToDisplay = nf(floor(getValueFloat()), 0, 0);
         }
         // java float literals use . so we also use .
         return valueToDisplay.replaceAll(",", ".");
@@ -196,6 +190,11 @@ public class SliderNode extends AbstractNode {
         }
     }
 
+    @Override
+    public boolean isCapturingMouseWheel() {
+        return isInlineNodeDragged || isNumpadInputActive();
+    }
+
     private void setWholeNumberPrecision() {
         for (int i = 0; i < precisionRange.size(); i++) {
             if (precisionRange.get(i) >= 1f) {
@@ -223,21 +222,23 @@ public class SliderNode extends AbstractNode {
 
     }
 
-    private void updateValueMouseInteraction() {
-        float mouseDelta = verticalMouseMode ? mouseDeltaY : mouseDeltaX;
+    private void updateValueMouseInteraction(float mouseDelta) {
         if (mouseDelta != 0) {
             float delta = mouseDelta * precisionRange.get(currentPrecisionIndex);
-            setValueFloat(valueFloat - delta);
+            setValueFloat(getValueFloat() - delta);
+        }
+        if (!tryConstrainValue()) {
+            backgroundScrollX -= mouseDelta;
         }
     }
 
     protected boolean tryConstrainValue() {
         boolean constrained = false;
         if (valueFloatConstrained) {
-            if (valueFloat > valueFloatMax || valueFloat < valueFloatMin) {
+            if (getValueFloat() > valueFloatMax || getValueFloat() < valueFloatMin) {
                 constrained = true;
             }
-            valueFloat = constrain(valueFloat, valueFloatMin, valueFloatMax);
+            storeValueFloat(constrain(getValueFloat(), valueFloatMin, valueFloatMax));
         }
         return constrained;
     }
@@ -252,6 +253,9 @@ public class SliderNode extends AbstractNode {
             }
         }
         wasNumpadInputActiveLastFrame = isNumpadInputActive();
+        if (!wasNumpadInputActiveLastFrame) {
+            TickStore.unsubscribe(this);
+        }
     }
 
     @Override
@@ -334,6 +338,12 @@ public class SliderNode extends AbstractNode {
 
     protected void setNumpadInputActiveStarted() {
         numpadInputAppendLastMillis = app.millis();
+        TickStore.subscribe(this);
+    }
+
+    @Override
+    public boolean isAnimating() {
+        return isNumpadInputActive() || wasNumpadInputActiveLastFrame;
     }
 
     protected boolean isNumpadInputActive() {
@@ -360,10 +370,30 @@ public class SliderNode extends AbstractNode {
     }
 
     protected void setValueFloat(float floatToSet) {
-        valueFloat = floatToSet;
+        storeValueFloat(floatToSet);
         onValueFloatChanged();
     }
 
+    /**
+     * Reads the value of the slider from the ValueStore, this replaces the public valueFloat field that older versions had.
+     * @return current value of the slider
+     */
+    public float getValueFloat() {
+        return ValueStore.getFloat(valueFloatSlot);
+    }
+
+    /**
+     * Writes the value straight into the ValueStore without constraining it or running any change callbacks.
+     * @param floatToStore new value of the slider
+     */
+    public void storeValueFloat(float floatToStore) {
+        if (Float.floatToIntBits(floatToStore) == Float.floatToIntBits(getValueFloat())) {
+            return;
+        }
+        ValueStore.setFloat(valueFloatSlot, floatToStore);
+        bumpVersion();
+    }
+
     protected void onValueFloatChanged() {
         tryConstrainValue();
     }
@@ -371,8 +401,8 @@ public class SliderNode extends AbstractNode {
     @Override
     public void mouseDragNodeContinue(LazyMouseEvent e) {
         super.mouseDragNodeContinue(e);
-        mouseDeltaX = e.getPrevX() - e.getX();
-        mouseDeltaY = e.getPrevY() - e.getY();
+        // applied right away rather than when the row gets drawn, the row may be scrolled out of view or its window culled
+        updateValueMouseInteraction(verticalMouseMode ? e.getPrevY() - e.getY() : e.getPrevX() - e.getX());
         e.setConsumed(true);
     }
 
@@ -390,6 +420,16 @@ public class SliderNode extends AbstractNode {
         }
     }
 
+    @Override
+    public void releaseStoredValues() {
+        ValueStore.freeFloatSlot(valueFloatSlot);
+    }
+
+    @Override
+    public void writeStoredValues(JsonObject json) {
+        json.addProperty("valueFloat", getValueFloat());
+    }
+
     @Override
     public String getConsolePrintableValue() {
         return getValueToDisplay();
@@ -12,6 +12,7 @@ import lazy.utils.ClipboardUtils;
 import processing.core.PConstants;
 import processing.core.PGraphics;
 
+import java.util.Objects;
 
 import static lazy.stores.FontStore.*;
 import static lazy.stores.GlobalReferences.app;
@@ -142,18 +143,22 @@ public class TextNode extends AbstractNode {
         if(!stringValue.equals(buffer) && app.millis() > millisInputStarted + millisInputDelay){
             setStringValueUndoably(buffer);
         }
+        if(stringValue.equals(buffer)){
+            TickStore.unsubscribe(this);
+        }
     }
 
     @Override
     public void keyPressedOverNode(LazyKeyEvent e, float x, float y) {
         // based on tip #13 in here:
         // https://amnonp5.wordpress.com/2012/01/28/25-life-saving-tips-for-processing/
-        if (isMouseOverNode) {
+        if (isMouseOverNode()) {
 //            PApplet.println("key code" + e.getKeyCode());
             if(KeyCodes.shouldIgnoreForTextInput(e.getKeyCode())){
                 return;
             }
             millisInputStarted = app.millis();
+            TickStore.subscribe(this);
             if (e.getKeyCode() == PConstants.BACKSPACE) {
                 if (buffer.length() > 0) {
                     buffer = buffer.substring(0, buffer.length() - 1);
@@ -174,8 +179,7 @@ public class TextNode extends AbstractNode {
     public void overwriteState(JsonElement loadedNode) {
         JsonObject json = loadedNode.getAsJsonObject();
         if (json.has("stringValue")) {
-            stringValue = json.get("stringValue").getAsString();
-            buffer = stringValue;
+            setStringValue(json.get("stringValue").getAsString());
         }
     }
 
@@ -189,7 +193,10 @@ public class TextNode extends AbstractNode {
     }
 
     public void setStringValue(String newValue) {
-        stringValue = newValue;
+        if (!Objects.equals(newValue, stringValue)) {
+            stringValue = newValue;
+            bumpVersion();
+        }
         buffer = newValue;
     }
 
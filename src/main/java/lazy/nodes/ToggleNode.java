@@ -1,10 +1,11 @@
 package lazy.nodes;
 
 import com.google.gson.JsonElement;
-import com.google.gson.annotations.Expose;
+import com.google.gson.JsonObject;
 
 import lazy.input.LazyMouseEvent;
 import lazy.stores.UndoRedoStore;
+import lazy.stores.ValueStore;
 import lazy.stores.JsonSaveStore;
 import processing.core.PGraphics;
 
@@ -12,14 +13,13 @@ import static lazy.stores.LayoutStore.cell;
 
 public class ToggleNode extends AbstractNode {
 
-    @Expose
-    public
-    boolean valueBoolean;
+    // serialized as "valueBoolean" by writeStoredValues()
+    private final int valueBooleanSlot = ValueStore.allocateBooleanSlot();
     protected boolean armed = false;
 
     public ToggleNode(String path, FolderNode folder, boolean defaultValue) {
         super(NodeType.VALUE, path, folder);
-        valueBoolean = defaultValue;
+        setValueBoolean(defaultValue);
         JsonSaveStore.overwriteWithLoadedStateIfAny(this);
     }
 
@@ -32,7 +32,7 @@ public class ToggleNode extends AbstractNode {
     protected void drawNodeForeground(PGraphics pg, String name) {
         drawLeftText(pg, name);
         drawRightBackdrop(pg, cell);
-        drawRightToggleHandle(pg, valueBoolean);
+        drawRightToggleHandle(pg, getValueBoolean());
     }
 
     @Override
@@ -45,7 +45,7 @@ public class ToggleNode extends AbstractNode {
     public void mouseReleasedOverNode(float x, float y){
         super.mouseReleasedOverNode(x,y);
         if(armed){
-            valueBoolean = !valueBoolean;
+            setValueBoolean(!getValueBoolean());
             UndoRedoStore.onUndoableActionEnded();
         }
         armed = false;
@@ -59,12 +59,42 @@ public class ToggleNode extends AbstractNode {
     public void overwriteState(JsonElement loadedNode) {
         JsonElement booleanElement = loadedNode.getAsJsonObject().get("valueBoolean");
         if(booleanElement != null){
-            valueBoolean = booleanElement.getAsBoolean();
+            setValueBoolean(booleanElement.getAsBoolean());
         }
     }
 
+    /**
+     * Reads the value of the toggle from the ValueStore, this replaces the public valueBoolean field that older versions had.
+     * @return current value of the toggle
+     */
+    public boolean getValueBoolean() {
+        return ValueStore.getBoolean(valueBooleanSlot);
+    }
+
+    /**
+     * Writes the value of the toggle to the ValueStore, use this instead of assigning the former public valueBoolean field.
+     * @param valueToSet new value of the toggle
+     */
+    public void setValueBoolean(boolean valueToSet) {
+        if (valueToSet == getValueBoolean()) {
+            return;
+        }
+        ValueStore.setBoolean(valueBooleanSlot, valueToSet);
+        bumpVersion();
+    }
+
+    @Override
+    public void releaseStoredValues() {
+        ValueStore.freeBooleanSlot(valueBooleanSlot);
+    }
+
+    @Override
+    public void writeStoredValues(JsonObject json) {
+        json.addProperty("valueBoolean", getValueBoolean());
+    }
+
     @Override
     public String getConsolePrintableValue() {
-        return String.valueOf(valueBoolean);
+        return String.valueOf(getValueBoolean());
     }
 }
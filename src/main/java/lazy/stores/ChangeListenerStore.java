@@ -0,0 +1,81 @@
+package lazy.stores;
+
+import lazy.nodes.AbstractNode;
+import lazy.utils.NodePaths;
+
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * Calls user listeners when control elements change, once per frame from LazyGui.draw() right after the TickStore updates.
+ * Nodes report their changes as they happen, possibly from threads the sketch started on its own,
+ * and all the changes since the last dispatch are collected into one set so that a whole drag results in one call per frame.
+ * A change of any node also counts as a change of every folder above it.
+ * Listeners are called from a copy of their list, so a listener can register more listeners, which get called from the next dispatch on.
+ */
+public class ChangeListenerStore {
+    private static final Map<String, List<Consumer<String>>> listenersByPath = new HashMap<>();
+    private static final Map<String, List<Consumer<List<String>>>> folderListenersByPath = new HashMap<>();
+    private static final Set<AbstractNode> changedSinceLastDispatch = Collections.newSetFromMap(new IdentityHashMap<>());
+    private static volatile boolean anyListenersRegistered = false;
+
+    private ChangeListenerStore() {
+
+    }
+
+    public static void addListener(String path, Consumer<String> listener) {
+        listenersByPath.computeIfAbsent(NodePaths.normalize(path), k -> new ArrayList<>()).add(listener);
+        anyListenersRegistered = true;
+    }
+
+    public static void addFolderListener(String folderPath, Consumer<List<String>> listener) {
+        folderListenersByPath.computeIfAbsent(NodePaths.normalize(folderPath), k -> new ArrayList<>()).add(listener);
+        anyListenersRegistered = true;
+    }
+
+    public static void onNodeChanged(AbstractNode node) {
+        if (!anyListenersRegistered) {
+            return;
+        }
+        synchronized (changedSinceLastDispatch) {
+            changedSinceLastDispatch.add(node);
+        }
+    }
+
+    public static void dispatchChanges() {
+        if (!anyListenersRegistered) {
+            return;
+        }
+        List<AbstractNode> changedNodes;
+        synchronized (changedSinceLastDispatch) {
+            if (changedSinceLastDispatch.isEmpty()) {
+                return;
+            }
+            changedNodes = new ArrayList<>(changedSinceLastDispatch);
+            changedSinceLastDispatch.clear();
+        }
+        // every node affected by this frame's changes mapped to the changed nodes at or below it
+        Map<AbstractNode, List<String>> changedPathsByAffectedNode = new LinkedHashMap<>();
+        for (AbstractNode changedNode : changedNodes) {
+            for (AbstractNode affected = changedNode; affected != null; affected = affected.parent) {
+                changedPathsByAffectedNode.computeIfAbsent(affected, k -> new ArrayList<>()).add(changedNode.path);
+            }
+        }
+        for (Map.Entry<AbstractNode, List<String>> entry : changedPathsByAffectedNode.entrySet()) {
+            String affectedPath = entry.getKey().path;
+            List<Consumer<String>> listeners = listenersByPath.get(affectedPath);
+            if (listeners != null) {
+                for (Consumer<String> listener : new ArrayList<>(listeners)) {
+                    listener.accept(affectedPath);
+                }
+            }
+            List<Consumer<List<String>>> folderListeners = folderListenersByPath.get(affectedPath);
+            if (folderListeners != null) {
+                List<String> changedPaths = Collections.unmodifiableList(entry.getValue());
+                for (Consumer<List<String>> folderListener : new ArrayList<>(folderListeners)) {
+                    folderListener.accept(changedPaths);
+                }
+            }
+        }
+    }
+}
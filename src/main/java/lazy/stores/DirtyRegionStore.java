@@ -0,0 +1,99 @@
+package lazy.stores;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static processing.core.PApplet.*;
+
+/**
+ * Collects the areas of the gui canvas that need to be cleared and drawn again this frame.
+ * Everything outside of them is left as it was drawn in an earlier frame.
+ * Overlapping areas are merged and when there would be too many of them they all get merged into their bounding box,
+ * so that the canvas never needs to be drawn over more than a few times per frame.
+ */
+public class DirtyRegionStore {
+    private static final int maxRegionCount = 8;
+    private static final ArrayList<float[]> regions = new ArrayList<>();
+    private static final List<float[]> regionsReadOnly = Collections.unmodifiableList(regions);
+    private static boolean isEverythingDirty = true;
+
+    private DirtyRegionStore() {
+
+    }
+
+    /**
+     * Marks a rectangle as dirty, it gets grown to whole pixels.
+     * @param x0 left edge
+     * @param y0 top edge
+     * @param x1 right edge
+     * @param y1 bottom edge
+     */
+    public static void markDirty(float x0, float y0, float x1, float y1) {
+        if (isEverythingDirty || x1 <= x0 || y1 <= y0) {
+            return;
+        }
+        float[] region = new float[]{floor(x0), floor(y0), ceil(x1), ceil(y1)};
+        boolean mergedAny = true;
+        while (mergedAny) {
+            mergedAny = false;
+            for (int i = regions.size() - 1; i >= 0; i--) {
+                float[] other = regions.get(i);
+                if (intersects(region, other)) {
+                    region = union(region, other);
+                    regions.remove(i);
+                    mergedAny = true;
+                }
+            }
+        }
+        regions.add(region);
+        if (regions.size() > maxRegionCount) {
+            float[] bounds = regions.get(0);
+            for (float[] other : regions) {
+                bounds = union(bounds, other);
+            }
+            regions.clear();
+            regions.add(bounds);
+        }
+    }
+
+    /**
+     * Marks the whole canvas as dirty, for changes that affect everything like a new canvas or new theme.
+     */
+    public static void markEverythingDirty() {
+        isEverythingDirty = true;
+        regions.clear();
+    }
+
+    public static boolean isEverythingDirty() {
+        return isEverythingDirty;
+    }
+
+    public static boolean isClean() {
+        return !isEverythingDirty && regions.isEmpty();
+    }
+
+    /**
+     * Gets the dirty regions when not everything is dirty.
+     * @return read only list of {x0, y0, x1, y1} rectangles that do not overlap
+     */
+    public static List<float[]> getRegions() {
+        return regionsReadOnly;
+    }
+
+    /**
+     * Forgets all dirty regions, called once they have been drawn.
+     */
+    public static void clear() {
+        isEverythingDirty = false;
+        regions.clear();
+    }
+
+    public static boolean intersects(float[] a, float[] b) {
+        return a[0] <= b[2] && b[0] <= a[2] && a[1] <= b[3] && b[1] <= a[3];
+    }
+
+    private static float[] union(float[] a, float[] b) {
+        return new float[]{min(a[0], b[0]), min(a[1], b[1]), max(a[2], b[2]), max(a[3], b[3])};
+    }
+}
@@ -0,0 +1,28 @@
+package lazy.stores;
+
+import lazy.nodes.AbstractNode;
+
+/**
+ * Keeps track of the one node that the mouse is currently over.
+ * Changing the hovered node is a single assignment, so mouse move events do not need to visit every node in the tree.
+ * Nodes ask about their own hover state through AbstractNode.isMouseOverNode().
+ */
+public class HoverStore {
+    private static AbstractNode hoveredNode = null;
+
+    private HoverStore() {
+
+    }
+
+    public static AbstractNode getHoveredNode() {
+        return hoveredNode;
+    }
+
+    public static void setHoveredNode(AbstractNode node) {
+        hoveredNode = node;
+    }
+
+    public static void clearHoveredNode() {
+        hoveredNode = null;
+    }
+}
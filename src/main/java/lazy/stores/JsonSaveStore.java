@@ -4,9 +4,19 @@ import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
 import lazy.nodes.AbstractNode;
 import lazy.nodes.FolderNode;
 import lazy.nodes.NodeType;
+import lazy.nodes.SliderNode;
+import lazy.nodes.ToggleNode;
+import lazy.utils.JavaConstantsExporter;
+import lazy.utils.NodePaths;
 
 import java.io.BufferedWriter;
 import java.io.File;
@@ -23,7 +33,11 @@ public class JsonSaveStore {
     private static final Map<String, JsonElement> lastLoadedStateMap = new HashMap<>();
     private static File saveDir;
     private static ArrayList<File> saveFilesSorted;
-    private static final Gson gson = new GsonBuilder().excludeFieldsWithoutExposeAnnotation().setPrettyPrinting().create();
+    private static final Gson gson = new GsonBuilder()
+            .excludeFieldsWithoutExposeAnnotation()
+            .registerTypeAdapterFactory(new StoredValueTypeAdapterFactory())
+            .setPrettyPrinting()
+            .create();
 
     public static boolean autosaveEnabled = true;
     public static boolean includePrettyTreeInSaves = false;
@@ -108,22 +122,104 @@ public class JsonSaveStore {
     }
 
     static void loadStateFromFile(File file) {
+        JsonElement root = readJsonFromFile(file);
+        if (root == null) {
+            return;
+        }
+        loadStateFromJsonElement(root, null);
+    }
+
+    private static JsonElement readJsonFromFile(File file) {
         if (!file.exists()) {
             println("Error: save file doesn't exist");
-            return;
+            return null;
         }
         String json;
         try {
             json = readFile(file);
         } catch (IOException e) {
             println("Error loading state from file", e.getMessage());
-            return;
+            return null;
         }
-        JsonElement root = getJsonElementFromString(json);
-        loadStateFromJsonElement(root, null);
+        return getJsonElementFromString(json);
+    }
+
+    /**
+     * Writes a save out as the source code of a Java class with all of its values as constants, see JavaConstantsExporter.
+     * The class ends up next to the save folder in an "exports" folder.
+     * @param saveFileName name of the save file with or without the .json suffix
+     * @param className simple name of the class to generate
+     * @return the written java file or null when the save could not be read
+     */
+    public static File exportSaveAsJavaConstants(String saveFileName, String className) {
+        reloadSaveFolderContents();
+        String fileNameWithSuffix = saveFileName.endsWith(".json") ? saveFileName : saveFileName + ".json";
+        JsonElement root = null;
+        for (File saveFile : saveFilesSorted) {
+            if (saveFile.getName().equals(fileNameWithSuffix)) {
+                root = readJsonFromFile(saveFile);
+            }
+        }
+        if (root == null) {
+            println("Could not find a save named \"" + saveFileName + "\" to export");
+            return null;
+        }
+        File exportDir = new File(getGuiDataFolderPath("/exports/"));
+        if (!exportDir.exists() && !exportDir.mkdirs()) {
+            println("could not create export folder at path: " + exportDir.getPath());
+            return null;
+        }
+        File exportFile = new File(exportDir, className + ".java");
+        overwriteFile(exportFile.getAbsolutePath(), JavaConstantsExporter.export(root.getAsJsonObject(), className, "save \"" + fileNameWithSuffix + "\""));
+        return exportFile;
+    }
+
+    /**
+     * Reads the most recent save without applying it to any nodes.
+     * @return root of the saved json tree or null when there is no save to read
+     */
+    public static JsonElement readMostRecentSave() {
+        reloadSaveFolderContents();
+        if (saveFilesSorted.isEmpty()) {
+            return null;
+        }
+        return readJsonFromFile(saveFilesSorted.get(0));
     }
 
 
+    /**
+     * Sliders and toggles keep their values in the ValueStore, so there is no @Expose field for gson to find.
+     * This serializes them as usual and then lets the node add its stored values under the same keys the old fields had.
+     */
+    private static class StoredValueTypeAdapterFactory implements TypeAdapterFactory {
+        @Override
+        public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+            Class<? super T> rawType = type.getRawType();
+            if (!SliderNode.class.isAssignableFrom(rawType) && !ToggleNode.class.isAssignableFrom(rawType)) {
+                return null;
+            }
+            TypeAdapter<T> delegate = gson.getDelegateAdapter(this, type);
+            TypeAdapter<JsonElement> elementAdapter = gson.getAdapter(JsonElement.class);
+            return new TypeAdapter<T>() {
+                @Override
+                public void write(JsonWriter out, T value) throws IOException {
+                    if (value == null) {
+                        out.nullValue();
+                        return;
+                    }
+                    JsonObject json = delegate.toJsonTree(value).getAsJsonObject();
+                    ((AbstractNode) value).writeStoredValues(json);
+                    elementAdapter.write(out, json);
+                }
+
+                @Override
+                public T read(JsonReader in) throws IOException {
+                    return delegate.read(in);
+                }
+            };
+        }
+    }
+
     public static String getTreeAsJsonString() {
         return gson.toJson(NodeTree.getRoot());
     }
@@ -156,6 +252,8 @@ public class JsonSaveStore {
                 // used for copy/pasting sub-folders and not the entire tree
                 loadedPath = loadedPath.replace(inputRootPath, outputRootPath);
             }
+            // saves made before paths were normalized can still contain empty segments
+            loadedPath = NodePaths.normalize(loadedPath);
             AbstractNode nodeToEdit = NodeTree.findNode(loadedPath);
             if (nodeToEdit != null) {
                 overwriteWithLoadedStateIfAny(nodeToEdit, loadedNode);
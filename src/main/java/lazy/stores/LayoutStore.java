@@ -2,6 +2,7 @@ package lazy.stores;
 
 import static lazy.stores.GlobalReferences.gui;
 import static processing.core.PApplet.floor;
+import static processing.core.PApplet.max;
 
 public class LayoutStore {
     public static float cell = 22; // cell size but shorter because used everywhere
@@ -14,12 +15,18 @@ public class LayoutStore {
     private static float horizontalSeparatorStrokeWeight = 1;
 
     private static boolean showPathTooltips = false;
+    private static int maxWindowHeightInCells = 0;
+    private static boolean shouldCacheWindowImages = true;
+    private static boolean shouldRedrawDirtyRegionsOnly = true;
+    private static boolean shouldDrawDirectlyOnTarget = false;
+    private static boolean shouldCullHiddenWindows = true;
 
     public static void updateWindowOptions() {
         gui.pushFolder("windows");
         LayoutStore.setCellSize(gui.sliderInt("cell size", floor(cell), 12, Integer.MAX_VALUE));
         LayoutStore.setShowPathTooltips(gui.toggle("show path tooltips", LayoutStore.getShowPathTooltips()));
         LayoutStore.setShouldKeepWindowsInBounds(gui.toggle("keep in bounds", LayoutStore.getShouldKeepWindowsInBounds()));
+        LayoutStore.setMaxWindowHeightInCells(gui.sliderInt("max height in cells", LayoutStore.getMaxWindowHeightInCells(), 0, Integer.MAX_VALUE));
         gui.pushFolder("resize");
         LayoutStore.setWindowResizeEnabled(gui.toggle("allow resize", LayoutStore.getWindowResizeEnabled()));
         LayoutStore.setShouldDrawResizeIndicator(gui.toggle("show handle", LayoutStore.getShouldDrawResizeIndicator()));
@@ -29,6 +36,13 @@ public class LayoutStore {
         setShowHorizontalSeparators(gui.toggle("show"));
         setHorizontalSeparatorStrokeWeight(gui.slider("weight", 0.5f));
         gui.popFolder();
+        gui.pushFolder("rendering");
+        LayoutStore.setShouldCacheWindowImages(gui.toggle("cache window images", LayoutStore.getShouldCacheWindowImages()));
+        LayoutStore.setShouldRedrawDirtyRegionsOnly(gui.toggle("redraw changes only", LayoutStore.getShouldRedrawDirtyRegionsOnly()));
+        LayoutStore.setShouldDrawDirectlyOnTarget(gui.toggle("draw on sketch directly", LayoutStore.getShouldDrawDirectlyOnTarget()));
+        LayoutStore.setShouldCullHiddenWindows(gui.toggle("cull hidden windows", LayoutStore.getShouldCullHiddenWindows()));
+        RefreshRateStore.updateRefreshRateOptions();
+        gui.popFolder();
         gui.popFolder();
     }
 
@@ -92,4 +106,64 @@ public class LayoutStore {
         LayoutStore.showPathTooltips = showPathTooltips;
     }
 
+    /**
+     * Gets the height that windows with more rows than fit in it are limited to, scrolling the rest with the mouse wheel.
+     * @return maximum window height including the title bar in cells, 0 means the height of the canvas
+     */
+    public static int getMaxWindowHeightInCells() {
+        return maxWindowHeightInCells;
+    }
+
+    public static void setMaxWindowHeightInCells(int valueToSet) {
+        maxWindowHeightInCells = max(0, valueToSet);
+    }
+
+    /**
+     * Whether each window gets rendered into its own image that is only redrawn when something in it changes.
+     * @return true if windows reuse their image between frames
+     */
+    public static boolean getShouldCacheWindowImages() {
+        return shouldCacheWindowImages;
+    }
+
+    public static void setShouldCacheWindowImages(boolean valueToSet) {
+        shouldCacheWindowImages = valueToSet;
+    }
+
+    /**
+     * Whether windows that are entirely outside the canvas or hidden behind an opaque window above them get skipped when drawing.
+     * @return true if hidden windows are culled
+     */
+    public static boolean getShouldCullHiddenWindows() {
+        return shouldCullHiddenWindows;
+    }
+
+    public static void setShouldCullHiddenWindows(boolean valueToSet) {
+        shouldCullHiddenWindows = valueToSet;
+    }
+
+    /**
+     * Whether the gui canvas keeps its content between frames and only gets cleared and redrawn where something changed.
+     * Only takes effect while window images are cached.
+     * @return true if only the dirty regions get redrawn
+     */
+    public static boolean getShouldRedrawDirtyRegionsOnly() {
+        return shouldRedrawDirtyRegionsOnly;
+    }
+
+    public static void setShouldRedrawDirtyRegionsOnly(boolean valueToSet) {
+        shouldRedrawDirtyRegionsOnly = valueToSet;
+    }
+
+    /**
+     * Whether the windows get drawn straight onto the target canvas every frame, skipping the intermediate gui canvas.
+     * @return true if the gui canvas is not used
+     */
+    public static boolean getShouldDrawDirectlyOnTarget() {
+        return shouldDrawDirectlyOnTarget;
+    }
+
+    public static void setShouldDrawDirectlyOnTarget(boolean valueToSet) {
+        shouldDrawDirectlyOnTarget = valueToSet;
+    }
 }
@@ -0,0 +1,92 @@
+package lazy.stores;
+
+import lazy.nodes.AbstractNode;
+import lazy.nodes.FolderNode;
+import lazy.nodes.NodeType;
+
+import java.util.Arrays;
+
+/**
+ * Flat list of every node that exists in the GUI, kept up to date as nodes get created,
+ * so that code that needs to visit all nodes every frame can iterate an array instead of walking the tree.
+ * Nodes register themselves in the AbstractNode constructor, because many folders add their children directly
+ * without going through NodeTree.
+ * Iterate with an index from 0 to getNodeCount(), the order is not the tree order and can change on removal.
+ */
+public class NodeRegistry {
+    private static AbstractNode[] nodes = new AbstractNode[256];
+    private static int nodeCount = 0;
+    private static FolderNode[] folders = new FolderNode[64];
+    private static int folderCount = 0;
+
+    private NodeRegistry() {
+
+    }
+
+    public static void register(AbstractNode node) {
+        if (nodeCount == nodes.length) {
+            nodes = Arrays.copyOf(nodes, nodeCount * 2);
+        }
+        nodes[nodeCount] = node;
+        nodeCount++;
+        if (node.type == NodeType.FOLDER) {
+            if (folderCount == folders.length) {
+                folders = Arrays.copyOf(folders, folderCount * 2);
+            }
+            folders[folderCount] = (FolderNode) node;
+            folderCount++;
+        }
+    }
+
+    /**
+     * Removes a node that was taken out of the tree or never made it into the tree, together with all of its children,
+     * and gives their ValueStore slots back.
+     * Linear in the node count, which is fine for the rare occasions this happens.
+     * @param node node to forget
+     */
+    public static void unregister(AbstractNode node) {
+        int previousNodeCount = nodeCount;
+        nodeCount = removeBySwappingWithLast(nodes, nodeCount, node);
+        if (nodeCount == previousNodeCount) {
+            // already unregistered, its slots may belong to other nodes by now
+            return;
+        }
+        TickStore.unsubscribe(node);
+        node.releaseStoredValues();
+        if (node.type == NodeType.FOLDER) {
+            folderCount = removeBySwappingWithLast(folders, folderCount, node);
+        }
+        if (node instanceof FolderNode) {
+            for (AbstractNode child : ((FolderNode) node).children) {
+                unregister(child);
+            }
+        }
+    }
+
+    private static int removeBySwappingWithLast(AbstractNode[] array, int count, AbstractNode node) {
+        for (int i = 0; i < count; i++) {
+            if (array[i] == node) {
+                array[i] = array[count - 1];
+                array[count - 1] = null;
+                return count - 1;
+            }
+        }
+        return count;
+    }
+
+    public static int getNodeCount() {
+        return nodeCount;
+    }
+
+    public static AbstractNode getNode(int index) {
+        return nodes[index];
+    }
+
+    public static int getFolderCount() {
+        return folderCount;
+    }
+
+    public static FolderNode getFolder(int index) {
+        return folders[index];
+    }
+}
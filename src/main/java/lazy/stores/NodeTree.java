@@ -9,111 +9,220 @@ import static processing.core.PApplet.println;
 
 public class NodeTree {
     private static final FolderNode root = new FolderNode("", null);
-    private static final Map<String, AbstractNode> nodesByPath = new HashMap<>();
-    static ArrayList<String> knownUnexpectedQueries = new ArrayList<>();
+    private static final PathTrieEntry rootEntry = new PathTrieEntry(root);
+    static Set<String> knownUnexpectedQueries = new HashSet<>();
+    private static final Map<String, KnownMissingPath> knownMissingPaths = new HashMap<>();
+    private static final int knownMissingPathsLimit = 16384;
+    private static int insertGeneration = 0;
+    private static long missCacheHitCount = 0;
+    private static long missCacheMissCount = 0;
 
     private NodeTree() {
 
     }
 
+    /**
+     * One node in the path index, mirroring the folder structure of the node tree with one entry per path segment.
+     * Some folders like the color picker or the plot add their own children directly to FolderNode.children
+     * without going through insertNodeAtItsPath(), so the entry lazily picks those up
+     * whenever its folder has more children than it has already indexed.
+     */
+    private static class PathTrieEntry {
+        final AbstractNode node;
+        final Map<String, PathTrieEntry> children = new HashMap<>();
+        int indexedChildCount = 0;
+
+        PathTrieEntry(AbstractNode node) {
+            this.node = node;
+        }
+    }
+
+    /**
+     * Remembers that a path was not found, so that looking it up again can be answered without walking the trie.
+     * It stays valid until any node gets inserted through NodeTree, which bumps the insert generation,
+     * or until the deepest folder found on the way gets a new child added to it directly.
+     * Outdated records are not cleared eagerly, they get dropped when looked up again or when the cache hits its size limit.
+     */
+    private static class KnownMissingPath {
+        final PathTrieEntry deepestFoundEntry;
+        final int deepestFoundChildCount;
+        final int generation;
+
+        KnownMissingPath(PathTrieEntry deepestFoundEntry) {
+            this.deepestFoundEntry = deepestFoundEntry;
+            this.deepestFoundChildCount = getChildCount(deepestFoundEntry);
+            this.generation = insertGeneration;
+        }
+
+        boolean isStillMissing() {
+            return generation == insertGeneration && deepestFoundChildCount == getChildCount(deepestFoundEntry);
+        }
+    }
+
+    private static int getChildCount(PathTrieEntry entry) {
+        if (entry.node.type != NodeType.FOLDER) {
+            return 0;
+        }
+        return ((FolderNode) entry.node).children.size();
+    }
+
     public static FolderNode getRoot() {
         return root;
     }
 
     public static FolderNode findParentFolderLazyInitPath(String nodePath) {
         String folderPath = NodePaths.getPathWithoutName(nodePath);
-        lazyInitFolderPath(folderPath);
-        AbstractNode pathParent = findNode(folderPath);
-        return (FolderNode) pathParent;
+        PathTrieEntry folderEntry = lazyInitFolderPath(folderPath);
+        if (folderEntry == null) {
+            return null;
+        }
+        return (FolderNode) folderEntry.node;
     }
 
     public static AbstractNode findNode(String path) {
-        if (nodesByPath.containsKey(path)) {
-            return nodesByPath.get(path);
-        }
-        Queue<AbstractNode> queue = new LinkedList<>();
-        queue.offer(root);
-        while (!queue.isEmpty()) {
-            AbstractNode node = queue.poll();
-            if (node.path.equals(path)) {
-                // do type cast collision detection here
-                nodesByPath.put(path, node);
-                return node;
-            }
-            if (node.type == NodeType.FOLDER) {
-                FolderNode folder = (FolderNode) node;
-                for (AbstractNode child : folder.children) {
-                    queue.offer(child);
-                }
+        KnownMissingPath knownMissingPath = knownMissingPaths.get(path);
+        if (knownMissingPath != null) {
+            if (knownMissingPath.isStillMissing()) {
+                missCacheHitCount++;
+                return null;
             }
+            knownMissingPaths.remove(path);
         }
-        return null;
-    }
-
-    static void lazyInitFolderPath(String path) {
-        String[] split = NodePaths.splitByUnescapedSlashes(path);
-        String runningPath = split[0];
-        FolderNode parentFolder = null;
-        for (int i = 0; i < split.length; i++) {
-            AbstractNode n = findNode(runningPath);
-            if (n == null) {
-                if (parentFolder == null) {
-                    parentFolder = root;
-                }
-                n = new FolderNode(runningPath, parentFolder);
-                parentFolder.children.add(n);
-                parentFolder = (FolderNode) n;
-            } else if (n.type == NodeType.FOLDER) {
-                parentFolder = (FolderNode) n;
-            } else {
-                println("Expected to find or to be able to create a folder at path \"" + runningPath + "\" but found an existing " + n.className + ". You cannot put any control elements there.");
+        String[] segments = NodePaths.splitByUnescapedSlashes(path);
+        PathTrieEntry entry = rootEntry;
+        for (String segment : segments) {
+            if (segment.isEmpty()) {
+                continue;
             }
-            if (i < split.length - 1) {
-                runningPath += "/" + split[i + 1];
+            PathTrieEntry childEntry = findChildEntry(entry, segment);
+            if (childEntry == null) {
+                rememberMissingPath(path, entry);
+                return null;
             }
+            entry = childEntry;
         }
+        return entry.node;
     }
 
-    public static void insertNodeAtItsPath(AbstractNode node) {
-        if (findNode(node.path) != null) {
-            return;
+    private static void rememberMissingPath(String path, PathTrieEntry deepestFoundEntry) {
+        missCacheMissCount++;
+        if (knownMissingPaths.size() >= knownMissingPathsLimit) {
+            knownMissingPaths.clear();
         }
-        String folderPath = NodePaths.getPathWithoutName(node.path);
-        lazyInitFolderPath(folderPath);
-        FolderNode folder = (FolderNode) findNode(folderPath);
-        assert folder != null;
-        folder.children.add(node);
-    }
-
-    public static List<AbstractNode> getAllNodesAsList(){
-        List<AbstractNode> result = new ArrayList<>();
-        Queue<AbstractNode> queue = new LinkedList<>();
-        queue.offer(root);
-        while(!queue.isEmpty()){
-            AbstractNode node = queue.poll();
-            result.add(node);
-            if (node.type == NodeType.FOLDER) {
-                FolderNode folder = (FolderNode) node;
-                for (AbstractNode child : folder.children) {
-                    queue.offer(child);
-                }
+        knownMissingPaths.put(path, new KnownMissingPath(deepestFoundEntry));
+    }
+
+    private static void onNodeInserted() {
+        insertGeneration++;
+    }
+
+    /**
+     * Gets the number of findNode() calls for an absent path that were answered by the cache of known missing paths.
+     * @return count of absent path lookups that did not need to walk the tree
+     */
+    public static long getMissCacheHitCount() {
+        return missCacheHitCount;
+    }
+
+    /**
+     * Gets the number of findNode() calls for an absent path that had to walk the tree before being cached as missing.
+     * @return count of absent path lookups that walked the tree
+     */
+    public static long getMissCacheMissCount() {
+        return missCacheMissCount;
+    }
+
+    public static void resetMissCacheCounters() {
+        missCacheHitCount = 0;
+        missCacheMissCount = 0;
+    }
+
+    private static PathTrieEntry findChildEntry(PathTrieEntry parentEntry, String segment) {
+        PathTrieEntry childEntry = parentEntry.children.get(segment);
+        if (childEntry == null && tryIndexUnknownChildren(parentEntry)) {
+            childEntry = parentEntry.children.get(segment);
+        }
+        return childEntry;
+    }
+
+    private static boolean tryIndexUnknownChildren(PathTrieEntry entry) {
+        if (entry.node.type != NodeType.FOLDER) {
+            return false;
+        }
+        FolderNode folder = (FolderNode) entry.node;
+        if (folder.children.size() == entry.indexedChildCount) {
+            return false;
+        }
+        for (AbstractNode child : folder.children) {
+            String segment = getLastSegment(child.path);
+            if (!entry.children.containsKey(segment)) {
+                entry.children.put(segment, new PathTrieEntry(child));
             }
         }
-        return result;
+        entry.indexedChildCount = folder.children.size();
+        return true;
+    }
+
+    private static PathTrieEntry addChild(PathTrieEntry parentEntry, String segment, AbstractNode child) {
+        FolderNode folder = (FolderNode) parentEntry.node;
+        boolean wasFullyIndexed = folder.children.size() == parentEntry.indexedChildCount;
+        folder.children.add(child);
+        PathTrieEntry childEntry = new PathTrieEntry(child);
+        parentEntry.children.put(segment, childEntry);
+        if (wasFullyIndexed) {
+            parentEntry.indexedChildCount++;
+        }
+        onNodeInserted();
+        return childEntry;
     }
 
-    public static void setAllNodesMouseOverToFalse(){
-        setAllOtherNodesMouseOverToFalse(null);
+    private static String getLastSegment(String path) {
+        String[] segments = NodePaths.splitByUnescapedSlashes(path);
+        return segments.length == 0 ? "" : segments[segments.length - 1];
     }
 
-    public static void setAllOtherNodesMouseOverToFalse(AbstractNode nodeToKeep){
-        List<AbstractNode> allNodes = getAllNodesAsList();
-        for(AbstractNode node : allNodes){
-            if(node == nodeToKeep){
+    static PathTrieEntry lazyInitFolderPath(String path) {
+        String[] segments = NodePaths.splitByUnescapedSlashes(path);
+        String runningPath = null;
+        PathTrieEntry entry = rootEntry;
+        for (String segment : segments) {
+            if (segment.isEmpty()) {
                 continue;
             }
-            node.isMouseOverNode = false;
+            runningPath = runningPath == null ? segment : runningPath + "/" + segment;
+            PathTrieEntry childEntry = findChildEntry(entry, segment);
+            if (childEntry == null) {
+                FolderNode newFolder = new FolderNode(runningPath, (FolderNode) entry.node);
+                childEntry = addChild(entry, segment, newFolder);
+            } else if (childEntry.node.type != NodeType.FOLDER) {
+                println("Expected to find or to be able to create a folder at path \"" + runningPath + "\" but found an existing " + childEntry.node.className + ". You cannot put any control elements there.");
+                return null;
+            }
+            entry = childEntry;
         }
+        return entry;
+    }
+
+    /**
+     * Adds a new node to the tree at its path, lazily creating the folders above it.
+     * A node that cannot be inserted, because its path is already taken or a folder on the way is not a folder,
+     * gets unregistered and its ValueStore slots are reused by other nodes, so it must not be used afterwards.
+     * @param node new node to insert
+     * @return true if the node was inserted, false if it was dropped
+     */
+    public static boolean insertNodeAtItsPath(AbstractNode node) {
+        if (findNode(node.path) != null) {
+            NodeRegistry.unregister(node);
+            return false;
+        }
+        String folderPath = NodePaths.getPathWithoutName(node.path);
+        PathTrieEntry folderEntry = lazyInitFolderPath(folderPath);
+        if (folderEntry == null) {
+            NodeRegistry.unregister(node);
+            return false;
+        }
+        addChild(folderEntry, getLastSegment(node.path), node);
+        return true;
     }
 
     public static FolderNode findFirstOpenParentNodeRecursively(FolderNode node) {
@@ -127,30 +236,35 @@ public class NodeTree {
     }
 
     public static <T extends AbstractNode> boolean isPathTakenByUnexpectedType(String path, Class<T> expectedType){
-        AbstractNode foundNode = findNode(path);
-        if(foundNode == null){
+        return isNodeOfUnexpectedType(findNode(path), path, expectedType);
+    }
+
+    /**
+     * Checks an already found node against the type the caller expects to find at its path,
+     * so that finding the node and checking its type only needs one walk through the tree.
+     * @param foundNode result of findNode(path), may be null
+     * @param path path that was searched for
+     * @param expectedType type of node the caller wants to use at this path
+     * @return true if a node of a different type already exists at this path
+     */
+    public static <T extends AbstractNode> boolean isNodeOfUnexpectedType(AbstractNode foundNode, String path, Class<T> expectedType){
+        if(foundNode == null || expectedType.isInstance(foundNode)){
             return false;
         }
         String expectedTypeName = expectedType.getSimpleName();
         String uniquePathAndTypeQuery = path + " - " + expectedTypeName;
         if(knownUnexpectedQueries.contains(uniquePathAndTypeQuery)){
-            // return early when this is a known conflict, no reason to spam the error or do the expensive exception
+            // return early when this is a known conflict, no reason to spam the error
             return true;
         }
-        try{
-            expectedType.cast(foundNode);
-        }catch(Exception ex){
-            boolean printExtendedHelp = knownUnexpectedQueries.isEmpty();
-            println("Path conflict warning: You tried to register a new " + expectedTypeName + " at \"" + path + "\"" +
-                    " but that path is already in use by a " + foundNode.className + "." +
-                (printExtendedHelp ? "\n\tThe original " + foundNode.className + " will still work as expected," +
-                            " but the new " + expectedTypeName + " will not be shown and it will always return a default value." +
-                            "\n\tLazyGui paths must be unique, so please use a different path for one of them." : "")
-            );
-            knownUnexpectedQueries.add(uniquePathAndTypeQuery);
-            return true;
-        }
-        return false;
+        boolean printExtendedHelp = knownUnexpectedQueries.isEmpty();
+        println("Path conflict warning: You tried to register a new " + expectedTypeName + " at \"" + path + "\"" +
+                " but that path is already in use by a " + foundNode.className + "." +
+            (printExtendedHelp ? "\n\tThe original " + foundNode.className + " will still work as expected," +
+                        " but the new " + expectedTypeName + " will not be shown and it will always return a default value." +
+                        "\n\tLazyGui paths must be unique, so please use a different path for one of them." : "")
+        );
+        knownUnexpectedQueries.add(uniquePathAndTypeQuery);
+        return true;
     }
 }
-
@@ -0,0 +1,116 @@
+package lazy.stores;
+
+import lazy.input.UserInputPublisher;
+import lazy.windows.WindowManager;
+
+import static lazy.stores.GlobalReferences.app;
+import static lazy.stores.GlobalReferences.gui;
+
+/**
+ * Decides which frames need to update and draw the windows and which ones can simply display the last gui canvas again.
+ * A frame is idle when there was no input, no value change, no new node, no window movement and nothing animating
+ * since the last redraw, because then the gui would be drawn exactly the same as before.
+ * Frames that do have changes can still be skipped when the gui is redrawn more often than the optional maximum fps allows,
+ * the changes then get drawn by the next frame that is allowed to redraw.
+ */
+public class RefreshRateStore {
+    private static boolean shouldSkipIdleFrames = true;
+    private static int maxRedrawsPerSecond = 0;
+    private static int lastRedrawMillis = -1;
+    private static long idleFrameCount = 0;
+    private static long throttledFrameCount = 0;
+    private static long redrawFrameCount = 0;
+
+    // the state of everything that can change how the gui looks, as it was at the start of the last redraw
+    private static int lastInputEventCount = -1;
+    private static long lastRootVersion = -1;
+    private static int lastNodeCount = -1;
+    private static int lastWindowStateHash = 0;
+    private static int lastCanvasWidth = -1;
+    private static int lastCanvasHeight = -1;
+    private static boolean lastAppFocused = false;
+    private static boolean lastGuiHidden = false;
+
+    private RefreshRateStore() {
+
+    }
+
+    public static void updateRefreshRateOptions() {
+        shouldSkipIdleFrames = gui.toggle("skip idle frames", shouldSkipIdleFrames);
+        maxRedrawsPerSecond = gui.sliderInt("max redraw fps", maxRedrawsPerSecond, 0, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Checks whether the last gui canvas can be displayed again this frame, counting the frame as idle or throttled if it can.
+     * Remembers the current state as the last redrawn one when it cannot.
+     * @param isGuiHidden whether the windows are hidden
+     * @param isAnimating whether anything in the gui changes by itself this frame, like the grid guide fading out
+     * @return true if the windows do not need to be updated or drawn this frame
+     */
+    public static boolean shouldReuseLastFrame(boolean isGuiHidden, boolean isAnimating) {
+        int inputEventCount = UserInputPublisher.getInputEventCount();
+        long rootVersion = NodeTree.getRoot().getVersion();
+        int nodeCount = NodeRegistry.getNodeCount();
+        int windowStateHash = WindowManager.getWindowStateHash();
+        boolean hasChanged = isAnimating ||
+                !DirtyRegionStore.isClean() ||
+                TickStore.isAnySubscriberAnimating() ||
+                inputEventCount != lastInputEventCount ||
+                rootVersion != lastRootVersion ||
+                nodeCount != lastNodeCount ||
+                windowStateHash != lastWindowStateHash ||
+                app.width != lastCanvasWidth || app.height != lastCanvasHeight ||
+                app.focused != lastAppFocused ||
+                isGuiHidden != lastGuiHidden;
+        if (shouldSkipIdleFrames && !hasChanged) {
+            idleFrameCount++;
+            return true;
+        }
+        if (maxRedrawsPerSecond > 0 && lastRedrawMillis != -1 &&
+                app.millis() - lastRedrawMillis < 1000f / maxRedrawsPerSecond) {
+            throttledFrameCount++;
+            return true;
+        }
+        lastInputEventCount = inputEventCount;
+        lastRootVersion = rootVersion;
+        lastNodeCount = nodeCount;
+        lastWindowStateHash = windowStateHash;
+        lastCanvasWidth = app.width;
+        lastCanvasHeight = app.height;
+        lastAppFocused = app.focused;
+        lastGuiHidden = isGuiHidden;
+        lastRedrawMillis = app.millis();
+        redrawFrameCount++;
+        return false;
+    }
+
+    /**
+     * Gets the number of frames that displayed the last gui canvas again because nothing changed.
+     * @return count of idle frames
+     */
+    public static long getIdleFrameCount() {
+        return idleFrameCount;
+    }
+
+    /**
+     * Gets the number of frames that had changes to draw but displayed the last gui canvas again to respect the maximum redraw fps.
+     * @return count of throttled frames
+     */
+    public static long getThrottledFrameCount() {
+        return throttledFrameCount;
+    }
+
+    /**
+     * Gets the number of frames that updated and drew the windows.
+     * @return count of redrawn frames
+     */
+    public static long getRedrawFrameCount() {
+        return redrawFrameCount;
+    }
+
+    public static void resetFrameCounters() {
+        idleFrameCount = 0;
+        throttledFrameCount = 0;
+        redrawFrameCount = 0;
+    }
+}
@@ -0,0 +1,91 @@
+package lazy.stores;
+
+import lazy.nodes.AbstractNode;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+/**
+ * Keeps the nodes that have some pending work to do every frame regardless of whether their window is open,
+ * so that LazyGui.draw() only visits those instead of every node in the GUI.
+ * Nodes subscribe when they get work to do and unsubscribe from within their own update once it's done.
+ * Unsubscribing is deferred until the end of the current tick, so it is safe to do while ticking.
+ */
+public class TickStore {
+    private static AbstractNode[] subscribers = new AbstractNode[32];
+    private static int subscriberCount = 0;
+    private static final Set<AbstractNode> subscribed = Collections.newSetFromMap(new IdentityHashMap<>());
+    private static final Set<AbstractNode> unsubscribeRequested = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    private TickStore() {
+
+    }
+
+    public static void subscribe(AbstractNode node) {
+        unsubscribeRequested.remove(node);
+        if (!subscribed.add(node)) {
+            return;
+        }
+        if (subscriberCount == subscribers.length) {
+            subscribers = Arrays.copyOf(subscribers, subscriberCount * 2);
+        }
+        subscribers[subscriberCount] = node;
+        subscriberCount++;
+    }
+
+    public static void unsubscribe(AbstractNode node) {
+        if (subscribed.contains(node)) {
+            unsubscribeRequested.add(node);
+        }
+    }
+
+    public static void tickSubscribedNodes() {
+        int countBeforeTick = subscriberCount;
+        for (int i = 0; i < countBeforeTick; i++) {
+            AbstractNode node = subscribers[i];
+            if (!unsubscribeRequested.contains(node)) {
+                node.updateValuesRegardlessOfParentWindowOpenness();
+            }
+        }
+        removeUnsubscribedNodes();
+    }
+
+    private static void removeUnsubscribedNodes() {
+        if (unsubscribeRequested.isEmpty()) {
+            return;
+        }
+        int keptCount = 0;
+        for (int i = 0; i < subscriberCount; i++) {
+            AbstractNode node = subscribers[i];
+            if (unsubscribeRequested.contains(node)) {
+                subscribed.remove(node);
+                continue;
+            }
+            subscribers[keptCount] = node;
+            keptCount++;
+        }
+        Arrays.fill(subscribers, keptCount, subscriberCount, null);
+        subscriberCount = keptCount;
+        unsubscribeRequested.clear();
+    }
+
+    /**
+     * Checks the subscribed nodes for one that looks different every frame, like a slider with an active numpad input,
+     * which is the only way for a node to need redrawing without any input or value change.
+     * @return true if any subscribed node is animating
+     */
+    public static boolean isAnySubscriberAnimating() {
+        for (int i = 0; i < subscriberCount; i++) {
+            if (subscribers[i].isAnimating()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public static int getSubscriberCount() {
+        return subscriberCount;
+    }
+}
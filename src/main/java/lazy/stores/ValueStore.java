@@ -0,0 +1,154 @@
+package lazy.stores;
+
+import java.util.Arrays;
+
+/**
+ * Primitive values of the value nodes kept in flat arrays instead of in fields scattered across the node objects.
+ * Each slider, toggle and color picker gets a slot in one of the arrays when it's constructed and reads and writes its value through that slot,
+ * so taking a snapshot of all the values is a plain array copy.
+ * Slots of nodes that get unregistered are given back and reused by the next node that needs one,
+ * so a node that keeps getting created and dropped again does not grow the arrays.
+ * Writes and slot allocation are synchronized because sketches can create nodes and set values from threads of their own while the arrays grow,
+ * reads are not, a reader might just see the previous value for a moment.
+ */
+public class ValueStore {
+    private static float[] floats = new float[256];
+    private static int floatCount = 0;
+    private static long[] booleanBits = new long[4];
+    private static int booleanCount = 0;
+    private static int[] ints = new int[64];
+    private static int intCount = 0;
+    private static final FreeSlots freeFloatSlots = new FreeSlots();
+    private static final FreeSlots freeBooleanSlots = new FreeSlots();
+    private static final FreeSlots freeIntSlots = new FreeSlots();
+
+    private static class FreeSlots {
+        private int[] slots = new int[16];
+        private int count = 0;
+
+        void push(int slot) {
+            if (count == slots.length) {
+                slots = Arrays.copyOf(slots, count * 2);
+            }
+            slots[count++] = slot;
+        }
+
+        boolean isEmpty() {
+            return count == 0;
+        }
+
+        int pop() {
+            return slots[--count];
+        }
+    }
+
+    private ValueStore() {
+
+    }
+
+    public static synchronized int allocateFloatSlot() {
+        if (!freeFloatSlots.isEmpty()) {
+            return freeFloatSlots.pop();
+        }
+        if (floatCount == floats.length) {
+            floats = Arrays.copyOf(floats, floatCount * 2);
+        }
+        return floatCount++;
+    }
+
+    public static synchronized void freeFloatSlot(int slot) {
+        freeFloatSlots.push(slot);
+    }
+
+    public static float getFloat(int slot) {
+        return floats[slot];
+    }
+
+    public static synchronized void setFloat(int slot, float value) {
+        floats[slot] = value;
+    }
+
+    public static synchronized int allocateBooleanSlot() {
+        if (!freeBooleanSlots.isEmpty()) {
+            return freeBooleanSlots.pop();
+        }
+        if (booleanCount == booleanBits.length * Long.SIZE) {
+            booleanBits = Arrays.copyOf(booleanBits, booleanBits.length * 2);
+        }
+        return booleanCount++;
+    }
+
+    public static synchronized void freeBooleanSlot(int slot) {
+        freeBooleanSlots.push(slot);
+    }
+
+    public static boolean getBoolean(int slot) {
+        return (booleanBits[slot >>> 6] & (1L << slot)) != 0;
+    }
+
+    public static synchronized void setBoolean(int slot, boolean value) {
+        if (value) {
+            booleanBits[slot >>> 6] |= 1L << slot;
+        } else {
+            booleanBits[slot >>> 6] &= ~(1L << slot);
+        }
+    }
+
+    public static synchronized int allocateIntSlot() {
+        if (!freeIntSlots.isEmpty()) {
+            return freeIntSlots.pop();
+        }
+        if (intCount == ints.length) {
+            ints = Arrays.copyOf(ints, intCount * 2);
+        }
+        return intCount++;
+    }
+
+    public static synchronized void freeIntSlot(int slot) {
+        freeIntSlots.push(slot);
+    }
+
+    public static int getInt(int slot) {
+        return ints[slot];
+    }
+
+    public static synchronized void setInt(int slot, int value) {
+        ints[slot] = value;
+    }
+
+    public static int getFloatCount() {
+        return floatCount;
+    }
+
+    public static int getBooleanCount() {
+        return booleanCount;
+    }
+
+    public static int getIntCount() {
+        return intCount;
+    }
+
+    /**
+     * Copies all the float values at once, indexed by slot.
+     * @return a new array of length getFloatCount()
+     */
+    public static synchronized float[] copyFloats() {
+        return Arrays.copyOf(floats, floatCount);
+    }
+
+    /**
+     * Copies all the boolean values at once as a bitset where slot n is bit (n % 64) of the long at index (n / 64).
+     * @return a new array just long enough to hold getBooleanCount() bits
+     */
+    public static synchronized long[] copyBooleanBits() {
+        return Arrays.copyOf(booleanBits, (booleanCount + Long.SIZE - 1) / Long.SIZE);
+    }
+
+    /**
+     * Copies all the int values at once, indexed by slot.
+     * @return a new array of length getIntCount()
+     */
+    public static synchronized int[] copyInts() {
+        return Arrays.copyOf(ints, intCount);
+    }
+}
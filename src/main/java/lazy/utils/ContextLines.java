@@ -1,16 +1,19 @@
 package lazy.utils;
 
-import lazy.nodes.AbstractNode;
-import lazy.nodes.FolderNode;
-import lazy.nodes.NodeType;
-import lazy.stores.NodeTree;
+import lazy.stores.DirtyRegionStore;
 import lazy.stores.NormColorStore;
+import lazy.windows.Window;
+import lazy.windows.WindowManager;
 import processing.core.PConstants;
 import processing.core.PGraphics;
 
+import java.util.Arrays;
 import java.util.List;
+import java.util.Objects;
 
 import static lazy.stores.GlobalReferences.gui;
+import static processing.core.PApplet.max;
+import static processing.core.PApplet.min;
 
 public class ContextLines {
     public static final String NEVER = "never";
@@ -23,38 +26,88 @@ public class ContextLines {
             .add(NEVER, ON_HOVER, ALWAYS).build();
 
 
-    public static void update(PGraphics pg) {
+    private static int showContextLinesMode = SHOW_CONTEXT_LINES_MODE_ON_HOVER;
+    private static boolean shouldPickShortestLine = false;
+    private static int lineColor;
+    private static float lineWeight = 1.2f;
+    private static float endpointRectSize = 3.5f;
+    private static int lastLinesHash;
+    private static float[] lastLinesBounds;
+
+    public static void update() {
         gui.pushFolder("context lines");
-        int showContextLinesMode = contextLinesOptions.indexOf(
+        showContextLinesMode = contextLinesOptions.indexOf(
                 gui.radio("visibility", contextLinesOptions, ON_HOVER));
-        boolean shouldPickShortestLine = gui.toggle("shortest line");
-        pg.pushStyle();
-        int clr = gui.colorPicker("color", NormColorStore.color(0.5f)).hex;
-        pg.stroke(clr);
-        pg.fill(clr);
-        pg.strokeCap(PConstants.SQUARE);
-        pg.strokeWeight(gui.slider("weight", 1.2f));
-        float endpointRectSize = gui.slider("end size", 3.5f);
+        shouldPickShortestLine = gui.toggle("shortest line");
+        lineColor = gui.colorPicker("color", NormColorStore.color(0.5f)).hex;
+        lineWeight = gui.slider("weight", 1.2f);
+        endpointRectSize = gui.slider("end size", 3.5f);
         gui.popFolder();
+    }
 
-        List<AbstractNode> allNodes = NodeTree.getAllNodesAsList();
+    /**
+     * Draws the lines with the options read by the last update(), kept separate from it
+     * so that the options can be read before the gui canvas is open for drawing.
+     * @param pg gui canvas
+     */
+    public static void draw(PGraphics pg) {
         if (showContextLinesMode == SHOW_CONTEXT_LINES_MODE_NEVER) {
             return;
         }
-        for (AbstractNode node : allNodes) {
-            if (node.type != NodeType.FOLDER) {
-                continue;
-            }
-            FolderNode folderNode = (FolderNode) node;
-            if (folderNode.window == null || folderNode.window.closed) {
-                continue;
-            }
-            boolean shouldShowLineFromTitleTowardsInlineNode = showContextLinesMode == SHOW_CONTEXT_LINES_ALWAYS ||
-                    (folderNode.window.isTitleHighlighted() && showContextLinesMode == SHOW_CONTEXT_LINES_MODE_ON_HOVER);
-            if (shouldShowLineFromTitleTowardsInlineNode) {
-                folderNode.window.drawContextLineFromTitleBarToInlineNode(pg, endpointRectSize, shouldPickShortestLine);
+        pg.pushStyle();
+        pg.stroke(lineColor);
+        pg.fill(lineColor);
+        pg.strokeCap(PConstants.SQUARE);
+        pg.strokeWeight(lineWeight);
+        for (Window window : WindowManager.getWindows()) {
+            if (shouldShowLineFromTitleTowardsInlineNode(window)) {
+                window.drawContextLineFromTitleBarToInlineNode(pg, endpointRectSize, shouldPickShortestLine);
             }
         }
         pg.popStyle();
     }
+
+    private static boolean shouldShowLineFromTitleTowardsInlineNode(Window window) {
+        return !window.closed && (showContextLinesMode == SHOW_CONTEXT_LINES_ALWAYS ||
+                (window.isTitleHighlighted() && showContextLinesMode == SHOW_CONTEXT_LINES_MODE_ON_HOVER));
+    }
+
+    /**
+     * Reports the area covered by the context lines as dirty whenever they move, appear, disappear or change their look.
+     */
+    public static void updateDirtyRegion() {
+        int linesHash = Objects.hash(showContextLinesMode, lineColor, lineWeight, endpointRectSize);
+        float[] linesBounds = null;
+        if (showContextLinesMode != SHOW_CONTEXT_LINES_MODE_NEVER) {
+            float margin = endpointRectSize / 2f + lineWeight + 1;
+            for (Window window : WindowManager.getWindows()) {
+                if (!shouldShowLineFromTitleTowardsInlineNode(window)) {
+                    continue;
+                }
+                float[] line = window.findContextLineFromTitleBarToInlineNode(shouldPickShortestLine);
+                if (line == null) {
+                    continue;
+                }
+                linesHash = 31 * linesHash + Arrays.hashCode(line);
+                if (linesBounds == null) {
+                    linesBounds = new float[]{Float.MAX_VALUE, Float.MAX_VALUE, -Float.MAX_VALUE, -Float.MAX_VALUE};
+                }
+                linesBounds[0] = min(linesBounds[0], min(line[0], line[2]) - margin);
+                linesBounds[1] = min(linesBounds[1], min(line[1], line[3]) - margin);
+                linesBounds[2] = max(linesBounds[2], max(line[0], line[2]) + margin);
+                linesBounds[3] = max(linesBounds[3], max(line[1], line[3]) + margin);
+            }
+        }
+        if (linesHash == lastLinesHash) {
+            return;
+        }
+        if (lastLinesBounds != null) {
+            DirtyRegionStore.markDirty(lastLinesBounds[0], lastLinesBounds[1], lastLinesBounds[2], lastLinesBounds[3]);
+        }
+        if (linesBounds != null) {
+            DirtyRegionStore.markDirty(linesBounds[0], linesBounds[1], linesBounds[2], linesBounds[3]);
+        }
+        lastLinesHash = linesHash;
+        lastLinesBounds = linesBounds;
+    }
 }
@@ -0,0 +1,201 @@
+package lazy.utils;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+
+import javax.lang.model.SourceVersion;
+import java.util.*;
+
+import static processing.core.PApplet.floor;
+import static processing.core.PApplet.unhex;
+
+/**
+ * Turns a saved json tree into the source code of a Java class with a static final constant for every value,
+ * so that a finished sketch can drop LazyGui and still get the exact same parameters, constant folded by the compiler.
+ * Folders become nested classes, colors become hex ints, radios and text fields become strings.
+ * The class also gets static slider(), sliderInt(), toggle(), text(), radio() and colorPickerHex() methods
+ * taking the same path strings as LazyGui, backed by string switches, so calls like gui.slider("boids/speed")
+ * can be swapped for the generated class without rewriting them.
+ * Large switches get split into helper methods by the hash code of the path, to stay under the size limit of a method.
+ */
+public class JavaConstantsExporter {
+    private static final String OPTIONS_FOLDER_PATH = "options";
+    // far below the few thousand string cases that fit in one method, so that unevenly filled hash buckets still fit
+    private static final int maxCasesPerSwitch = 512;
+
+    private final StringBuilder source = new StringBuilder();
+    private final Map<String, List<String[]>> facadeCasesByKind = new LinkedHashMap<>();
+
+    private JavaConstantsExporter() {
+        for (String kind : new String[]{"slider", "sliderInt", "toggle", "text", "radio", "colorPickerHex"}) {
+            facadeCasesByKind.put(kind, new ArrayList<>());
+        }
+    }
+
+    /**
+     * Generates the Java source code of the constants class.
+     * The GUI's own options folder is left out.
+     * @param root root of a saved json tree
+     * @param className simple name of the class to generate, without a package
+     * @param sourceDescription what the values came from, mentioned in the class comment
+     * @return java source code of the whole class
+     */
+    public static String export(JsonObject root, String className, String sourceDescription) {
+        JavaConstantsExporter exporter = new JavaConstantsExporter();
+        return exporter.exportClass(root, className, sourceDescription);
+    }
+
+    private String exportClass(JsonObject root, String className, String sourceDescription) {
+        source.append("/**\n * LazyGui values exported from ").append(sourceDescription).append(", do not edit.\n */\n");
+        source.append("@SuppressWarnings(\"unused\")\n");
+        source.append("public final class ").append(className).append(" {\n");
+        source.append("    private ").append(className).append("() {\n\n    }\n");
+        Set<String> enclosingClassNames = new HashSet<>();
+        enclosingClassNames.add(className);
+        writeFolderContents(root, 1, "", enclosingClassNames);
+        writeFacade();
+        source.append("}\n");
+        return source.toString();
+    }
+
+    private void writeFolderContents(JsonObject folder, int depth, String qualifier, Set<String> enclosingClassNames) {
+        if (!folder.has("children")) {
+            return;
+        }
+        String indent = repeat("    ", depth);
+        Set<String> usedNames = new HashSet<>();
+        for (JsonElement childElement : folder.get("children").getAsJsonArray()) {
+            JsonObject child = childElement.getAsJsonObject();
+            String path = child.get("path").getAsString();
+            if (path.equals(OPTIONS_FOLDER_PATH)) {
+                continue;
+            }
+            String className = child.has("className") ? child.get("className").getAsString() : "";
+            String name = getUniqueIdentifier(NodePaths.parse(path).name, usedNames, enclosingClassNames);
+            String reference = qualifier + name;
+            if (child.has("hexString")) {
+                String hex = "0x" + Integer.toHexString(unhex(child.get("hexString").getAsString())).toUpperCase();
+                writeConstant(indent, "int", name, hex, path);
+                addFacadeCase("colorPickerHex", path, reference);
+            } else if (child.has("valueString")) {
+                writeConstant(indent, "String", name, JavaLiterals.ofString(child.get("valueString").getAsString()), path);
+                addFacadeCase("radio", path, reference);
+            } else if (child.has("stringValue")) {
+                writeConstant(indent, "String", name, JavaLiterals.ofString(child.get("stringValue").getAsString()), path);
+                addFacadeCase("text", path, reference);
+            } else if (child.has("valueBoolean")) {
+                writeConstant(indent, "boolean", name, String.valueOf(child.get("valueBoolean").getAsBoolean()), path);
+                addFacadeCase("toggle", path, reference);
+            } else if (child.has("valueFloat")) {
+                float value = child.get("valueFloat").getAsFloat();
+                if (className.equals("SliderIntNode")) {
+                    writeConstant(indent, "int", name, String.valueOf(floor(value)), path);
+                    addFacadeCase("sliderInt", path, reference);
+                } else {
+                    writeConstant(indent, "float", name, JavaLiterals.ofFloat(value), path);
+                    addFacadeCase("slider", path, reference);
+                }
+            } else if (child.has("children") && !className.equals("GradientFolderNode")) {
+                source.append('\n').append(indent).append("public static final class ").append(name).append(" {\n");
+                Set<String> nestedEnclosingClassNames = new HashSet<>(enclosingClassNames);
+                nestedEnclosingClassNames.add(name);
+                writeFolderContents(child, depth + 1, reference + ".", nestedEnclosingClassNames);
+                source.append(indent).append("}\n");
+            }
+        }
+    }
+
+    private void writeConstant(String indent, String type, String name, String value, String path) {
+        source.append(indent).append("/** ").append(path.replace("*/", "* /")).append(" */\n");
+        source.append(indent).append("public static final ").append(type).append(' ').append(name).append(" = ").append(value).append(";\n");
+    }
+
+    private void addFacadeCase(String kind, String path, String reference) {
+        facadeCasesByKind.get(kind).add(new String[]{path, reference});
+    }
+
+    private void writeFacade() {
+        writeFacadeMethod("slider", "float", "0");
+        writeFacadeMethod("sliderInt", "int", "0");
+        writeFacadeMethod("toggle", "boolean", "false");
+        writeFacadeMethod("text", "String", "\"\"");
+        writeFacadeMethod("radio", "String", "null");
+        writeFacadeMethod("colorPickerHex", "int", "0xFF000000");
+    }
+
+    private void writeFacadeMethod(String kind, String type, String fallback) {
+        List<String[]> cases = facadeCasesByKind.get(kind);
+        source.append("\n    public static ").append(type).append(' ').append(kind).append("(String path) {\n");
+        source.append("        return ").append(kind).append("(path, ").append(fallback).append(");\n");
+        source.append("    }\n");
+        source.append("\n    public static ").append(type).append(' ').append(kind).append("(String path, ").append(type).append(" defaultValue) {\n");
+        if (cases.size() <= maxCasesPerSwitch) {
+            writeFacadeSwitch(cases);
+            source.append("    }\n");
+            return;
+        }
+        // one switch with thousands of cases would not fit in the 64 KB a java method can have,
+        // so the paths are spread over helper methods by their hash code, which java specifies for strings
+        int bucketCount = (cases.size() + maxCasesPerSwitch / 2 - 1) / (maxCasesPerSwitch / 2);
+        List<List<String[]>> buckets = new ArrayList<>();
+        for (int i = 0; i < bucketCount; i++) {
+            buckets.add(new ArrayList<>());
+        }
+        for (String[] pathAndReference : cases) {
+            buckets.get(getBucketIndex(pathAndReference[0], bucketCount)).add(pathAndReference);
+        }
+        source.append("        switch ((path.hashCode() & 0x7FFFFFFF) % ").append(bucketCount).append(") {\n");
+        for (int i = 0; i < bucketCount; i++) {
+            source.append("            case ").append(i).append(": return ").append(kind).append("Bucket").append(i).append("(path, defaultValue);\n");
+        }
+        source.append("            default: return defaultValue;\n");
+        source.append("        }\n");
+        source.append("    }\n");
+        for (int i = 0; i < bucketCount; i++) {
+            source.append("\n    private static ").append(type).append(' ').append(kind).append("Bucket").append(i).append("(String path, ").append(type).append(" defaultValue) {\n");
+            writeFacadeSwitch(buckets.get(i));
+            source.append("    }\n");
+        }
+    }
+
+    private void writeFacadeSwitch(List<String[]> cases) {
+        source.append("        switch (path) {\n");
+        for (String[] pathAndReference : cases) {
+            source.append("            case ").append(JavaLiterals.ofString(pathAndReference[0])).append(": return ").append(pathAndReference[1]).append(";\n");
+        }
+        source.append("            default: return defaultValue;\n");
+        source.append("        }\n");
+    }
+
+    private static int getBucketIndex(String path, int bucketCount) {
+        return (path.hashCode() & 0x7FFFFFFF) % bucketCount;
+    }
+
+    private static String getUniqueIdentifier(String name, Set<String> usedNames, Set<String> enclosingClassNames) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            sb.append(Character.isJavaIdentifierPart(c) ? c : '_');
+        }
+        String identifier = sb.toString();
+        if (identifier.isEmpty() || !Character.isJavaIdentifierStart(identifier.charAt(0)) || SourceVersion.isKeyword(identifier)) {
+            identifier = "_" + identifier;
+        }
+        String unique = identifier;
+        int suffix = 2;
+        while (usedNames.contains(unique) || enclosingClassNames.contains(unique)) {
+            unique = identifier + "_" + suffix;
+            suffix++;
+        }
+        usedNames.add(unique);
+        return unique;
+    }
+
+    private static String repeat(String s, int count) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            sb.append(s);
+        }
+        return sb.toString();
+    }
+}
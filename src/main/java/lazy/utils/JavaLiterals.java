@@ -0,0 +1,68 @@
+package lazy.utils;
+
+/**
+ * Turns values into Java source code literals for the code generated by the LazyControls processor and the constants exporter.
+ */
+public class JavaLiterals {
+
+    private JavaLiterals() {
+
+    }
+
+    /**
+     * Quotes and escapes a string so that the literal evaluates back to the same string.
+     * @param value string to quote
+     * @return double quoted java string literal
+     */
+    public static String ofString(String value) {
+        StringBuilder sb = new StringBuilder("\"");
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\':
+                    sb.append("\\\\");
+                    break;
+                case '"':
+                    sb.append("\\\"");
+                    break;
+                case '\n':
+                    sb.append("\\n");
+                    break;
+                case '\r':
+                    sb.append("\\r");
+                    break;
+                case '\t':
+                    sb.append("\\t");
+                    break;
+                default:
+                    if (c < ' ') {
+                        sb.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        sb.append(c);
+                    }
+            }
+        }
+        return sb.append('"').toString();
+    }
+
+    /**
+     * Writes a float as a literal or as the Float constant that stands for it.
+     * @param value float to write
+     * @return java float expression
+     */
+    public static String ofFloat(float value) {
+        if (Float.isNaN(value)) {
+            return "Float.NaN";
+        }
+        if (value == Float.MAX_VALUE) {
+            return "Float.MAX_VALUE";
+        }
+        if (value == -Float.MAX_VALUE) {
+            return "-Float.MAX_VALUE";
+        }
+        if (Float.isInfinite(value)) {
+            return value > 0 ? "Float.POSITIVE_INFINITY" : "Float.NEGATIVE_INFINITY";
+        }
+        return value + "f";
+    }
+}
@@ -1,37 +1,157 @@
 package lazy.utils;
 
 
-import static processing.core.PApplet.println;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
-@SuppressWarnings("RegExpRedundantEscape")
+/**
+ * Path parsing helpers for forward slash separated node paths where a slash can be escaped with a backslash like "\/".
+ * Parsing is done by a single pass scanner without regex and the results are cached by the path string,
+ * because the same paths get parsed over and over again every frame.
+ * Empty segments are ignored, so "a//b", "/a/b" and "a/b/" all mean the same path as "a/b", see normalize().
+ */
 public class NodePaths {
 
-    static final String REGEX_UNESCAPED_SLASH_LOOKBEHIND = "(?<!\\\\)\\/";
-    static final String REGEX_UNESCAPED_SLASH_LOOKAROUND = "(?<!\\\\)(?=\\/)";
+    private static final Map<String, ParsedPath> parsedPathCache = new ConcurrentHashMap<>();
+    private static final int parsedPathCacheLimit = 65536;
+
+    /**
+     * Immutable result of parsing one path, shared by everyone asking about the same path.
+     * The segments array must not be modified by the caller.
+     */
+    public static final class ParsedPath {
+        /**
+         * Path split by unescaped slashes with the slashes removed, like String.split() would do it.
+         */
+        public final String[] segments;
+        /**
+         * Everything before the last unescaped slash, or an empty string when there is no such slash.
+         */
+        public final String parentPath;
+        /**
+         * The last segment of the path without any slashes and with escaped slashes un-escaped for display.
+         */
+        public final String name;
+
+        private ParsedPath(String[] segments, String parentPath, String name) {
+            this.segments = segments;
+            this.parentPath = parentPath;
+            this.name = name;
+        }
+    }
+
+    public static ParsedPath parse(String path) {
+        ParsedPath parsed = parsedPathCache.get(path);
+        if (parsed != null) {
+            return parsed;
+        }
+        parsed = parseWithoutCache(path);
+        if (parsedPathCache.size() >= parsedPathCacheLimit) {
+            parsedPathCache.clear();
+        }
+        parsedPathCache.put(path, parsed);
+        return parsed;
+    }
+
+    private static ParsedPath parseWithoutCache(String path) {
+        ArrayList<String> segments = new ArrayList<>();
+        int segmentStart = 0;
+        int lastSlashIndex = -1;
+        for (int i = 0; i < path.length(); i++) {
+            if (isUnescapedSlash(path, i)) {
+                segments.add(path.substring(segmentStart, i));
+                segmentStart = i + 1;
+                lastSlashIndex = i;
+            }
+        }
+        String[] segmentArray;
+        if (lastSlashIndex == -1) {
+            segmentArray = new String[]{path};
+        } else {
+            segments.add(path.substring(segmentStart));
+            // String.split() drops all trailing empty strings
+            int count = segments.size();
+            while (count > 0 && segments.get(count - 1).isEmpty()) {
+                count--;
+            }
+            segmentArray = segments.subList(0, count).toArray(new String[0]);
+        }
+        // a slash at the very start of the path does not separate a parent from a name
+        String parentPath = lastSlashIndex > 0 ? path.substring(0, lastSlashIndex) : "";
+        String nameWithEscapes = path.substring(lastSlashIndex + 1);
+        return new ParsedPath(segmentArray, parentPath, getDisplayStringWithoutEscapes(nameWithEscapes));
+    }
+
+    private static boolean isUnescapedSlash(String source, int index) {
+        return source.charAt(index) == '/' && (index == 0 || source.charAt(index - 1) != '\\');
+    }
 
     public static String getDisplayStringWithoutEscapes(String nameWithEscapes){
-        return nameWithEscapes.replaceAll("\\\\/", "/");
+        if (nameWithEscapes.indexOf('\\') == -1) {
+            return nameWithEscapes;
+        }
+        StringBuilder sb = new StringBuilder(nameWithEscapes.length());
+        for (int i = 0; i < nameWithEscapes.length(); i++) {
+            char c = nameWithEscapes.charAt(i);
+            if (c == '\\' && i + 1 < nameWithEscapes.length() && nameWithEscapes.charAt(i + 1) == '/') {
+                sb.append('/');
+                i++;
+                continue;
+            }
+            sb.append(c);
+        }
+        return sb.toString();
     }
 
-    public static String[] splitByUnescapedSlashes(String source){
-        return source.split(REGEX_UNESCAPED_SLASH_LOOKBEHIND);
+    /**
+     * Removes empty segments from a path, so a doubled slash or a slash at either end does not make a different path.
+     * Node paths are always kept in this form and every lookup by path treats its argument the same way.
+     * @param path path that may contain empty segments
+     * @return the path with only its non-empty segments, the same string when there are none to remove
+     */
+    public static String normalize(String path) {
+        if (!hasEmptySegments(path)) {
+            return path;
+        }
+        StringBuilder sb = new StringBuilder(path.length());
+        for (String segment : splitByUnescapedSlashes(path)) {
+            if (segment.isEmpty()) {
+                continue;
+            }
+            if (sb.length() > 0) {
+                sb.append('/');
+            }
+            sb.append(segment);
+        }
+        return sb.toString();
     }
 
-    public static String[] splitByUnescapesSlashesWithoutRemovingThem(String source){
-        return source.split(REGEX_UNESCAPED_SLASH_LOOKAROUND);
+    private static boolean hasEmptySegments(String path) {
+        int lastIndex = path.length() - 1;
+        for (int i = 0; i <= lastIndex; i++) {
+            if (isUnescapedSlash(path, i) && (i == 0 || i == lastIndex || path.charAt(i + 1) == '/')) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public static String[] splitByUnescapedSlashes(String source){
+        return parse(source).segments;
     }
 
     public static String getPathWithoutName(String pathWithName) {
-        String[] split = NodePaths.splitByUnescapesSlashesWithoutRemovingThem(pathWithName);
-        StringBuilder sum = new StringBuilder();
-        for (int i = 0; i < split.length - 1; i++) {
-            sum.append(split[i]);
-        }
-        return sum.toString();
+        return parse(pathWithName).parentPath;
     }
 
     public static String getNameWithoutPrefixSlash(String name) {
-        return name.replaceAll(REGEX_UNESCAPED_SLASH_LOOKBEHIND, "");
+        StringBuilder sb = new StringBuilder(name.length());
+        for (int i = 0; i < name.length(); i++) {
+            if (!isUnescapedSlash(name, i)) {
+                sb.append(name.charAt(i));
+            }
+        }
+        return sb.toString();
     }
 }
-
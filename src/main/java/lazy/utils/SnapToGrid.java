@@ -28,6 +28,8 @@ public class SnapToGrid {
     private static int selectedVisibilityModeIndex = defaultVisibilityModeIndex;
     private static float dragAlpha = 0;
     private static final float dragAlphaDelta = 0.05f;
+    private static final float dragAlphaVisibilityThreshold = 0.5f / 255f;
+    private static boolean wasGuideAnimatingWhenLastDrawn = false;
     private static PickerColor pointGridColor = new PickerColor(0xFF7F7F7F, 1,1,0.5f,1);
     private static float pointWeight = 4;
     private static float sdfCropDistance = 0.25f;
@@ -39,6 +41,7 @@ public class SnapToGrid {
         if(selectedVisibilityModeIndex == VISIBILITY_ON_DRAG){
             updateAlpha(draggedWindow);
         }
+        wasGuideAnimatingWhenLastDrawn = isGuideAnimatingNow(draggedWindow);
         if(selectedVisibilityModeIndex == VISIBILITY_NEVER){
             return;
         }
@@ -71,6 +74,21 @@ public class SnapToGrid {
         pg.resetShader();
     }
 
+    /**
+     * Whether the guide shown on drag is fading in, fading out or following a dragged window, which changes the whole canvas.
+     * It stays true until the guide gets drawn once more after it stops, so that the last faded out frame gets cleared too.
+     * @param draggedWindow window being dragged, may be null
+     * @return true if the grid guide looks different than when it was last drawn
+     */
+    public static boolean isGuideAnimating(Window draggedWindow) {
+        return isGuideAnimatingNow(draggedWindow) || wasGuideAnimatingWhenLastDrawn;
+    }
+
+    private static boolean isGuideAnimatingNow(Window draggedWindow) {
+        return selectedVisibilityModeIndex == VISIBILITY_ON_DRAG &&
+                (draggedWindow != null || dragAlpha > dragAlphaVisibilityThreshold);
+    }
+
     private static void updateAlpha(Window draggedWindow) {
         float dragAlphaMax = pointGridColor.alpha;
         dragAlphaMax = constrain(dragAlphaMax, 0, 1);
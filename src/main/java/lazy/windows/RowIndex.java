@@ -0,0 +1,154 @@
+package lazy.windows;
+
+import lazy.nodes.AbstractNode;
+import lazy.nodes.FolderNode;
+
+import static lazy.stores.LayoutStore.cell;
+
+/**
+ * Immutable snapshot of the rows of one window with the cumulative height above each of them,
+ * so that finding the row at some height or the rows that fit in some height is a binary search instead of a walk over every child.
+ * A window keeps using the same index until the children of its folder change, the cell size changes
+ * or one of its visible rows turns out to have a different height than the indexed one.
+ */
+class RowIndex {
+    private final AbstractNode[] rows;
+    // rowTops[i] is how far row i starts below the title bar, the last element is the height of all rows together
+    private final float[] rowTops;
+    private final int childrenModificationCount;
+    private final float indexedCell;
+
+    private RowIndex(FolderNode folder) {
+        childrenModificationCount = folder.children.getModificationCount();
+        indexedCell = cell;
+        rows = folder.children.toArray(new AbstractNode[0]);
+        rowTops = new float[rows.length + 1];
+        for (int i = 0; i < rows.length; i++) {
+            rowTops[i + 1] = rowTops[i] + getCurrentRowHeight(rows[i]);
+        }
+    }
+
+    static RowIndex build(FolderNode folder) {
+        return new RowIndex(folder);
+    }
+
+    /**
+     * Whether the children of the folder or the cell size changed since this index was built.
+     * @param folder the folder this index was built from
+     * @return true if the index needs to be built again
+     */
+    boolean isOutdated(FolderNode folder) {
+        return folder.children.getModificationCount() != childrenModificationCount || cell != indexedCell;
+    }
+
+    /**
+     * Checks the heights of some rows against their nodes, row heights can change while the rows are being drawn.
+     * @param fromRow first row to check
+     * @param toRow row after the last one to check
+     * @return true if any of the rows has a different height than the indexed one
+     */
+    boolean hasAnyRowHeightChanged(int fromRow, int toRow) {
+        for (int i = fromRow; i < toRow && i < rows.length; i++) {
+            if (getCurrentRowHeight(rows[i]) != rowTops[i + 1] - rowTops[i]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static float getCurrentRowHeight(AbstractNode node) {
+        return cell * node.masterInlineNodeHeightInCells;
+    }
+
+    int getRowCount() {
+        return rows.length;
+    }
+
+    AbstractNode getRow(int row) {
+        return rows[row];
+    }
+
+    float getRowTop(int row) {
+        return rowTops[row];
+    }
+
+    float getRowHeight(int row) {
+        return rowTops[row + 1] - rowTops[row];
+    }
+
+    float getTotalHeight() {
+        return rowTops[rows.length];
+    }
+
+    /**
+     * Finds the row that covers a height below the title bar.
+     * @param offsetY height below the top of the first row
+     * @return index of the row or -1 when the height is above the first or below the last row
+     */
+    int findRowAt(float offsetY) {
+        if (rows.length == 0 || offsetY < 0 || offsetY > getTotalHeight()) {
+            return -1;
+        }
+        // the last row that starts at or above the height
+        int low = 0;
+        int high = rows.length - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (rowTops[mid] <= offsetY) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Counts the rows from the first row that fit in a height, at least one so that a row taller than the height still gets shown.
+     * @param firstRow first row to count
+     * @param maxHeight available height
+     * @return number of consecutive rows that fit
+     */
+    int countRowsThatFit(int firstRow, float maxHeight) {
+        if (firstRow >= rows.length) {
+            return 0;
+        }
+        // the last row end that is still within the height
+        float maxRowTop = rowTops[firstRow] + maxHeight;
+        int low = firstRow + 1;
+        int high = rows.length;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (rowTops[mid] <= maxRowTop) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low - firstRow;
+    }
+
+    /**
+     * Finds the row to start from so that the last row ends at the bottom of a window of some height.
+     * @param maxHeight available height
+     * @return the first row when scrolled all the way down
+     */
+    int findLastFirstRow(float maxHeight) {
+        if (rows.length == 0) {
+            return 0;
+        }
+        // the first row start from which everything below still fits in the height
+        float minRowTop = getTotalHeight() - maxHeight;
+        int low = 0;
+        int high = rows.length - 1;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (rowTops[mid] >= minRowTop) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return low;
+    }
+}
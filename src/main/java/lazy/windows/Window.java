@@ -5,11 +5,12 @@ import com.google.gson.annotations.Expose;
 import lazy.LazyGui;
 import lazy.input.LazyKeyEvent;
 import lazy.input.LazyMouseEvent;
-import lazy.input.UserInputPublisher;
 import lazy.input.UserInputSubscriber;
 import lazy.nodes.AbstractNode;
 import lazy.nodes.FolderNode;
+import lazy.stores.DirtyRegionStore;
 import lazy.stores.FontStore;
+import lazy.stores.HoverStore;
 import lazy.stores.LayoutStore;
 import lazy.stores.NodeTree;
 import lazy.themes.ThemeStore;
@@ -39,12 +40,42 @@ public class Window implements UserInputSubscriber {
     public boolean isBeingDraggedAround;
     boolean isBeingResized;
     private boolean isTitleHighlighted;
+    private boolean isCulled;
+    // rows are scrolled by whole rows so that no row is ever cut off at the window edge
+    private int requestedFirstVisibleRow;
+    private int firstVisibleRow;
+    private int visibleRowCount;
+    private float visibleRowsHeight;
+    private RowIndex rowIndex;
+
+    // maintained by the WindowInputDispatcher
+    long zOrder;
+    int openWindowIndex = -1;
+    boolean isInGrid;
+    int gridColumn0, gridRow0, gridColumn1, gridRow1;
     private boolean closeButtonPressInProgress;
 
+    private static final int imagePadding = 2;
+    private static final int imageSizeStep = 32;
+    private static final int rowsScrolledPerWheelNotch = 3;
+    private PGraphics image;
+    private float imageOffsetX, imageOffsetY;
+    private float imagePosX, imagePosY;
+    // the state of the window at the time its image was last rendered
+    private long imageFolderVersion;
+    private AbstractNode imageHoveredChild;
+    private boolean imageTitleHighlighted, imageCloseButtonHighlighted, imageAppFocused;
+    private RowIndex imageRowIndex;
+    private int imageFirstVisibleRow, imageVisibleRowCount;
+    private int imageAppearanceHash;
+    private float imageSizeX, imageSizeY, imageSubpixelX, imageSubpixelY;
+    // the area covered by the window and its tooltip or resize indicator in the last update, for dirty region tracking
+    private final float[] drawnBounds = new float[4];
+    private boolean wasDrawnLastFrame, wasTooltipShownLastFrame, wasResizeIndicatorShownLastFrame;
+
     public Window(FolderNode folder, float posX, float posY, Float nullableSizeX) {
         this.posX = posX;
         this.posY = posY;
-        UserInputPublisher.subscribe(this);
         this.folder = folder;
         folder.window = this;
         if (nullableSizeX == null) {
@@ -54,28 +85,342 @@ public class Window implements UserInputSubscriber {
         }
     }
 
-    void drawWindow(PGraphics pg) {
-        pg.textFont(FontStore.getMainFont());
-        isTitleHighlighted = !closed && (isPointInsideTitleBar(app.mouseX, app.mouseY) && isBeingDraggedAround) || folder.isMouseOverNode;
+    /**
+     * Keeps the window in the canvas bounds and lays out its visible rows,
+     * so that every window has its final size and position before any of them get culled or rendered.
+     * @param canvas the canvas the window will get drawn on
+     */
+    void updateLayout(PGraphics canvas) {
+        isTitleHighlighted = !closed && (isPointInsideTitleBar(app.mouseX, app.mouseY) && isBeingDraggedAround) || folder.isMouseOverNode();
+        if (closed) {
+            return;
+        }
+        constrainPosition(canvas);
+        updateVisibleRows(canvas);
+        windowSizeY = cell + visibleRowsHeight;
+        updateInlineFolderChildCoordinates();
+    }
+
+    /**
+     * Picks the slice of rows that fits in the maximum window height starting at the scroll position.
+     * The row index makes this a binary search, so folders with thousands of children cost no more than small ones.
+     */
+    private void updateVisibleRows(PGraphics canvas) {
+        // rows can change their height while being drawn, which only the visible ones are
+        if (rowIndex == null || rowIndex.isOutdated(folder) ||
+                rowIndex.hasAnyRowHeightChanged(firstVisibleRow, firstVisibleRow + visibleRowCount)) {
+            rowIndex = RowIndex.build(folder);
+        }
+        float maxRowsHeight = getMaxWindowHeight(canvas) - cell;
+        firstVisibleRow = constrain(requestedFirstVisibleRow, 0, rowIndex.findLastFirstRow(maxRowsHeight));
+        requestedFirstVisibleRow = firstVisibleRow;
+        visibleRowCount = rowIndex.countRowsThatFit(firstVisibleRow, maxRowsHeight);
+        visibleRowsHeight = rowIndex.getRowTop(firstVisibleRow + visibleRowCount) - rowIndex.getRowTop(firstVisibleRow);
+    }
+
+    private float getMaxWindowHeight(PGraphics canvas) {
+        int maxHeightInCells = LayoutStore.getMaxWindowHeightInCells();
+        if (maxHeightInCells > 0) {
+            return maxHeightInCells * cell;
+        }
+        return max(canvas.height - 1, cell * 2);
+    }
+
+    private boolean isScrollable() {
+        return rowIndex != null && (firstVisibleRow > 0 || firstVisibleRow + visibleRowCount < rowIndex.getRowCount());
+    }
+
+    // the row after the last visible one, clamped because the index can be rebuilt with fewer rows before the next layout
+    private int getVisibleRowsEnd(RowIndex rows) {
+        return min(firstVisibleRow + visibleRowCount, rows.getRowCount());
+    }
+
+    /**
+     * Whether the row of this child is inside the scrolled part of the window that is currently shown.
+     * @param child a child of this window's folder
+     * @return true if the child was laid out in the last update
+     */
+    public boolean isChildRowVisible(AbstractNode child) {
+        RowIndex rows = rowIndex;
+        if (rows == null) {
+            return false;
+        }
+        int end = getVisibleRowsEnd(rows);
+        for (int i = firstVisibleRow; i < end; i++) {
+            if (rows.getRow(i) == child) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Re-renders the window into its cached image when anything drawn inside it changed since the last render
+     * or while something in it needs to be drawn every frame, and reports the area it changed as dirty.
+     * The image is offset by whole pixels only, so it lands on the gui canvas pixel for pixel.
+     * Culled windows are neither rendered nor drawn, their image is kept for when they become visible again.
+     * @param canvas the canvas the window will get drawn on
+     * @param appearanceHash hash of the theme, font and layout settings shared by all windows
+     * @param raisedToTop whether the window just got moved to the top of the drawing order
+     * @param culled whether nothing the window draws would be visible this frame
+     */
+    void updateWindowImage(PGraphics canvas, int appearanceHash, boolean raisedToTop, boolean culled) {
+        isCulled = culled;
         if (closed) {
+            disposeImage();
+            markPreviouslyDrawnBoundsDirty();
+            return;
+        }
+        if (!LayoutStore.getShouldCacheWindowImages()) {
+            // windows drawn without an image are drawn from scratch every frame in drawWindow()
+            disposeImage();
+            DirtyRegionStore.markEverythingDirty();
+            return;
+        }
+        if (culled) {
+            markPreviouslyDrawnBoundsDirty();
+            return;
+        }
+        boolean rendered = tryRenderImage(appearanceHash);
+        // the drawn bounds and the dirty regions are measured from the same rounded position the image gets drawn at
+        imagePosX = floor(posX) - imagePadding;
+        imagePosY = floor(posY) - imagePadding;
+        updateDrawnBounds(canvas, rendered || raisedToTop);
+    }
+
+    /**
+     * Whether this window must be drawn even when hidden, because something in it is handling the mouse while being drawn.
+     * @return true if the window must not be culled
+     */
+    boolean isExemptFromCulling() {
+        return isBeingDraggedAround || isBeingResized || isContentAnimating(findHoveredChild());
+    }
+
+    /**
+     * Whether nothing this window draws apart from its path tooltip would land on the canvas.
+     * @param canvas the canvas the window will get drawn on
+     * @return true if the window is entirely outside the canvas
+     */
+    boolean isOutsideCanvas(PGraphics canvas) {
+        float margin = getCullingMargin();
+        return posX + windowSizeX + margin < 0 || posY + windowSizeY + margin < 0 ||
+                posX - margin > canvas.width || posY - margin > canvas.height;
+    }
+
+    /**
+     * Whether this window is open and its background covers everything the other window draws apart from its path tooltip.
+     * Only meaningful when the window background is opaque.
+     * @param other a window below this one
+     * @return true if the other window is hidden behind this one
+     */
+    boolean covers(Window other) {
+        float margin = other.getCullingMargin();
+        return !closed &&
+                posX <= other.posX - margin && posY <= other.posY - margin &&
+                posX + windowSizeX >= other.posX + other.windowSizeX + margin &&
+                posY + windowSizeY >= other.posY + other.windowSizeY + margin;
+    }
+
+    // how far the border stroke, the image padding and the resize indicator reach outside the window rectangle
+    private float getCullingMargin() {
+        return max(imagePadding, LayoutStore.getResizeRectangleSize() / 2f) + 1;
+    }
+
+    private boolean tryRenderImage(int appearanceHash) {
+        long folderVersion = folder.getVersion();
+        AbstractNode hoveredChild = findHoveredChild();
+        boolean closeButtonHighlighted = isCloseButtonHighlighted();
+        boolean appFocused = app.focused;
+        float subpixelX = posX - floor(posX);
+        float subpixelY = posY - floor(posY);
+        boolean isImageUpToDate = image != null &&
+                !isContentAnimating(hoveredChild) &&
+                folderVersion == imageFolderVersion &&
+                hoveredChild == imageHoveredChild &&
+                isTitleHighlighted == imageTitleHighlighted &&
+                closeButtonHighlighted == imageCloseButtonHighlighted &&
+                rowIndex == imageRowIndex &&
+                firstVisibleRow == imageFirstVisibleRow && visibleRowCount == imageVisibleRowCount &&
+                appFocused == imageAppFocused &&
+                appearanceHash == imageAppearanceHash &&
+                windowSizeX == imageSizeX && windowSizeY == imageSizeY &&
+                subpixelX == imageSubpixelX && subpixelY == imageSubpixelY;
+        if (isImageUpToDate) {
+            return false;
+        }
+        imageFolderVersion = folderVersion;
+        imageHoveredChild = hoveredChild;
+        imageTitleHighlighted = isTitleHighlighted;
+        imageCloseButtonHighlighted = closeButtonHighlighted;
+        imageRowIndex = rowIndex;
+        imageFirstVisibleRow = firstVisibleRow;
+        imageVisibleRowCount = visibleRowCount;
+        imageAppFocused = appFocused;
+        imageAppearanceHash = appearanceHash;
+        imageSizeX = windowSizeX;
+        imageSizeY = windowSizeY;
+        imageSubpixelX = subpixelX;
+        imageSubpixelY = subpixelY;
+        renderImage();
+        return true;
+    }
+
+    private void updateDrawnBounds(PGraphics canvas, boolean contentChanged) {
+        boolean tooltipShown = isPathTooltipShown();
+        boolean resizeIndicatorShown = isResizeIndicatorShown();
+        float x0 = imagePosX;
+        float y0 = imagePosY;
+        float x1 = posX + windowSizeX + imagePadding + LayoutStore.getResizeRectangleSize() / 2f;
+        float y1 = posY + windowSizeY + imagePadding;
+        if (tooltipShown) {
+            // the tooltip lines can be wider than the window, measuring them is not worth it for something only shown on hover
+            y0 -= cell * (NodePaths.splitByUnescapedSlashes(folder.path).length - 1);
+            x1 = max(x1, canvas.width);
+        }
+        boolean changed = contentChanged || !wasDrawnLastFrame ||
+                tooltipShown != wasTooltipShownLastFrame || resizeIndicatorShown != wasResizeIndicatorShownLastFrame ||
+                x0 != drawnBounds[0] || y0 != drawnBounds[1] || x1 != drawnBounds[2] || y1 != drawnBounds[3];
+        if (!changed) {
+            return;
+        }
+        markPreviouslyDrawnBoundsDirty();
+        drawnBounds[0] = x0;
+        drawnBounds[1] = y0;
+        drawnBounds[2] = x1;
+        drawnBounds[3] = y1;
+        DirtyRegionStore.markDirty(x0, y0, x1, y1);
+        wasDrawnLastFrame = true;
+        wasTooltipShownLastFrame = tooltipShown;
+        wasResizeIndicatorShownLastFrame = resizeIndicatorShown;
+    }
+
+    private void markPreviouslyDrawnBoundsDirty() {
+        if (wasDrawnLastFrame) {
+            DirtyRegionStore.markDirty(drawnBounds[0], drawnBounds[1], drawnBounds[2], drawnBounds[3]);
+            wasDrawnLastFrame = false;
+        }
+    }
+
+    /**
+     * Whether this window drew anything inside the specified rectangle in its last update.
+     * @param region {x0, y0, x1, y1} rectangle
+     * @return true if the window needs to be drawn when redrawing the region
+     */
+    boolean isDrawnInside(float[] region) {
+        return !closed && wasDrawnLastFrame && DirtyRegionStore.intersects(drawnBounds, region);
+    }
+
+    private void renderImage() {
+        int imageWidth = ceilToImageSizeStep(windowSizeX + imagePadding * 2);
+        int imageHeight = ceilToImageSizeStep(windowSizeY + imagePadding * 2);
+        if (image == null || image.width != imageWidth || image.height != imageHeight) {
+            disposeImage();
+            image = app.createGraphics(imageWidth, imageHeight, P2D);
+            image.colorMode(HSB, 1, 1, 1, 1);
+            image.smooth(8);
+        }
+        imageOffsetX = floor(posX) - imagePadding;
+        imageOffsetY = floor(posY) - imagePadding;
+        image.beginDraw();
+        image.clear();
+        image.textFont(FontStore.getMainFont());
+        image.translate(-imageOffsetX, -imageOffsetY);
+        drawWindowContents(image);
+        image.endDraw();
+        imageOffsetX = 0;
+        imageOffsetY = 0;
+    }
+
+    private static int ceilToImageSizeStep(float size) {
+        return ceil(size / imageSizeStep) * imageSizeStep;
+    }
+
+    private void disposeImage() {
+        if (image != null) {
+            image.dispose();
+            image = null;
+        }
+    }
+
+    private AbstractNode findHoveredChild() {
+        AbstractNode hoveredNode = HoverStore.getHoveredNode();
+        if (hoveredNode != null && hoveredNode.parent == folder) {
+            return hoveredNode;
+        }
+        return null;
+    }
+
+    // hovered and dragged nodes are included because sliders handle their mouse interaction while being drawn
+    private boolean isContentAnimating(AbstractNode hoveredChild) {
+        if (hoveredChild != null) {
+            return true;
+        }
+        int end = getVisibleRowsEnd(rowIndex);
+        for (int i = firstVisibleRow; i < end; i++) {
+            AbstractNode child = rowIndex.getRow(i);
+            if (child.isInlineNodeDragged || child.isAnimating()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isCloseButtonHighlighted() {
+        return !isRoot() && (isPointInsideCloseButton(app.mouseX, app.mouseY) || closeButtonPressInProgress);
+    }
+
+    /**
+     * Gets the offset of the cached image from the gui canvas while the image is being rendered, zero at any other time.
+     * @return x offset of the image currently being rendered
+     */
+    public float getImageOffsetX() {
+        return imageOffsetX;
+    }
+
+    /**
+     * Gets the offset of the cached image from the gui canvas while the image is being rendered, zero at any other time.
+     * @return y offset of the image currently being rendered
+     */
+    public float getImageOffsetY() {
+        return imageOffsetY;
+    }
+
+    void drawWindow(PGraphics pg) {
+        if (closed || isCulled || rowIndex == null) {
             return;
         }
-        constrainPosition(pg);
+        pg.textFont(FontStore.getMainFont());
         pg.pushMatrix();
-        drawBackgroundWithWindowBorder(pg, true);
+        if (image == null) {
+            drawWindowContents(pg);
+        } else {
+            pg.pushStyle();
+            pg.imageMode(CORNER);
+            pg.image(image, imagePosX, imagePosY);
+            pg.popStyle();
+        }
         drawPathTooltipOnHighlight(pg);
+        drawResizeIndicator(pg);
+        pg.popMatrix();
+    }
+
+    private void drawWindowContents(PGraphics pg) {
+        drawBackgroundWithWindowBorder(pg, true);
         drawContent(pg);
+        drawScrollIndicator(pg);
         drawBackgroundWithWindowBorder(pg, false);
         drawTitleBar(pg, isTitleHighlighted);
         if (!isRoot()) {
             drawCloseButton(pg);
         }
-        drawResizeIndicator(pg);
-        pg.popMatrix();
+    }
+
+    private boolean isResizeIndicatorShown() {
+        return isPointInsideResizeBorder(app.mouseX, app.mouseY) && LayoutStore.getShouldDrawResizeIndicator();
     }
 
     private void drawResizeIndicator(PGraphics pg) {
-        if (!isPointInsideResizeBorder(app.mouseX, app.mouseY) || !LayoutStore.getShouldDrawResizeIndicator()) {
+        if (!isResizeIndicatorShown()) {
             return;
         }
         float w = LayoutStore.getResizeRectangleSize();
@@ -87,15 +432,38 @@ public class Window implements UserInputSubscriber {
         pg.popMatrix();
     }
 
+    private void drawScrollIndicator(PGraphics pg) {
+        if (!isScrollable()) {
+            return;
+        }
+        float trackHeight = windowSizeY - cell;
+        float totalHeight = rowIndex.getTotalHeight();
+        float w = max(2, cell * 0.15f);
+        pg.pushMatrix();
+        pg.pushStyle();
+        pg.translate(posX, posY + cell);
+        pg.noStroke();
+        pg.fill(ThemeStore.getColor(WINDOW_BORDER));
+        pg.rectMode(CORNER);
+        pg.rect(windowSizeX - w, trackHeight * rowIndex.getRowTop(firstVisibleRow) / totalHeight, w, trackHeight * visibleRowsHeight / totalHeight);
+        pg.popStyle();
+        pg.popMatrix();
+    }
+
+    private boolean isPathTooltipShown() {
+        return isPointInsideTitleBar(app.mouseX, app.mouseY) && LayoutStore.getShowPathTooltips();
+    }
+
     private void drawPathTooltipOnHighlight(PGraphics pg) {
-        if (!isPointInsideTitleBar(app.mouseX, app.mouseY) || !LayoutStore.getShowPathTooltips()) {
+        if (!isPathTooltipShown()) {
             return;
         }
         pg.pushMatrix();
         pg.pushStyle();
         pg.translate(posX, posY);
-        String[] pathSplit = splitFullPathWithoutEndAndRoot(folder.path);
-        int lineCount = pathSplit.length;
+        // the last segment is this window's own name which is already displayed in the title bar
+        String[] pathSplit = NodePaths.splitByUnescapedSlashes(folder.path);
+        int lineCount = pathSplit.length - 1;
         float tooltipXOffset = cell * 0.5f;
         float tooltipWidthMinimum = windowSizeX - tooltipXOffset - cell;
 //        pg.stroke(ThemeStore.getColor(WINDOW_BORDER)); // tooltip border maybe?
@@ -114,11 +482,6 @@ public class Window implements UserInputSubscriber {
         pg.popStyle();
     }
 
-    static String[] splitFullPathWithoutEndAndRoot(String fullPath){
-        String[] pathWithEnd = NodePaths.splitByUnescapedSlashes(fullPath);
-        return Arrays.copyOf(pathWithEnd, pathWithEnd.length-1);
-    }
-
     protected void drawBackgroundWithWindowBorder(PGraphics pg, boolean drawBackgroundOnly) {
         pg.pushMatrix();
         pg.translate(posX, posY);
@@ -140,7 +503,7 @@ public class Window implements UserInputSubscriber {
         pg.stroke(ThemeStore.getColor(WINDOW_BORDER));
         pg.strokeWeight(1);
         pg.line(windowSizeX - cell, 0, windowSizeX - cell, cell - 1);
-        if (isPointInsideCloseButton(app.mouseX, app.mouseY) || closeButtonPressInProgress) {
+        if (isCloseButtonHighlighted()) {
             pg.fill(ThemeStore.getColor(FOCUS_BACKGROUND));
             pg.noStroke();
             pg.rectMode(CORNER);
@@ -185,9 +548,29 @@ public class Window implements UserInputSubscriber {
     }
 
     public void drawContextLineFromTitleBarToInlineNode(PGraphics pg, float endRectSize, boolean pickShortestLine) {
+        float[] line = findContextLineFromTitleBarToInlineNode(pickShortestLine);
+        if (line == null) {
+            return;
+        }
+        pg.line(line[0], line[1], line[2], line[3]);
+        pg.rectMode(CENTER);
+        pg.rect(line[0], line[1], endRectSize, endRectSize);
+        pg.rect(line[2], line[3], endRectSize, endRectSize);
+    }
+
+    /**
+     * Finds where the context line between this window's title bar and the inline node that opened it goes.
+     * @param pickShortestLine whether to pick the shortest of the four possible lines instead of always going from left to right
+     * @return {x0, y0, x1, y1} or null if there is no visible inline node to draw the line to
+     */
+    public float[] findContextLineFromTitleBarToInlineNode(boolean pickShortestLine) {
         AbstractNode firstOpenParent = NodeTree.findFirstOpenParentNodeRecursively(folder);
         if (firstOpenParent == null || !firstOpenParent.isParentWindowVisible()) {
-            return;
+            return null;
+        }
+        if (firstOpenParent.parent != null && firstOpenParent.parent.window != null &&
+                !firstOpenParent.parent.window.isChildRowVisible(firstOpenParent)) {
+            return null;
         }
         float xOffset = cell / 2f;
         float y0 = posY + cell / 2f;
@@ -218,10 +601,7 @@ public class Window implements UserInputSubscriber {
             x0 = pointsWithDistances[0].x0;
             x1 = pointsWithDistances[0].x1;
         }
-        pg.line(x0, y0, x1, y1);
-        pg.rectMode(CENTER);
-        pg.rect(x0, y0, endRectSize, endRectSize);
-        pg.rect(x1, y1, endRectSize, endRectSize);
+        return new float[]{x0, y0, x1, y1};
     }
 
     private void constrainPosition(PGraphics pg) {
@@ -245,15 +625,25 @@ public class Window implements UserInputSubscriber {
         }
     }
 
+    private void updateInlineFolderChildCoordinates() {
+        float y = cell;
+        int end = getVisibleRowsEnd(rowIndex);
+        for (int i = firstVisibleRow; i < end; i++) {
+            float nodeHeight = rowIndex.getRowHeight(i);
+            rowIndex.getRow(i).updateInlineNodeCoordinates(posX, posY + y, windowSizeX, nodeHeight);
+            y += nodeHeight;
+        }
+    }
+
     void drawInlineFolderChildren(PGraphics pg) {
-        windowSizeY = cell + heightSumOfChildNodes();
         pg.pushMatrix();
         pg.translate(posX, posY);
         pg.translate(0, cell);
         float y = cell;
-        for (int i = 0; i < folder.children.size(); i++) {
-            AbstractNode node = folder.children.get(i);
-            float nodeHeight = cell * node.masterInlineNodeHeightInCells;
+        int end = getVisibleRowsEnd(rowIndex);
+        for (int i = firstVisibleRow; i < end; i++) {
+            AbstractNode node = rowIndex.getRow(i);
+            float nodeHeight = rowIndex.getRowHeight(i);
             node.updateInlineNodeCoordinates(posX, posY + y, windowSizeX, nodeHeight);
             pg.pushMatrix();
             pg.pushStyle();
@@ -261,7 +651,7 @@ public class Window implements UserInputSubscriber {
             pg.popStyle();
             pg.popMatrix();
 
-            if(i > 0){
+            if(i > firstVisibleRow){
                 // separator
                 pg.pushStyle();
                 drawHorizontalSeparator(pg);
@@ -285,22 +675,23 @@ public class Window implements UserInputSubscriber {
         }
     }
 
-    private float heightSumOfChildNodes() {
-        float sum = 0;
-        for (AbstractNode child : folder.children) {
-            sum += child.masterInlineNodeHeightInCells * cell;
-        }
-        return sum;
-    }
-
 
     @Override
     public void mouseWheelMoved(LazyMouseEvent e) {
-        if (isPointInsideTitleBar(e.getX(), e.getY())) {
+        boolean isOverTitleBar = isPointInsideTitleBar(e.getX(), e.getY());
+        if (!isOverTitleBar && !isPointInsideContent(e.getX(), e.getY())) {
             return;
         }
-        if (isPointInsideContent(e.getX(), e.getY())) {
-            AbstractNode clickedNode = tryFindChildNodeAt(e.getX(), e.getY());
+        AbstractNode clickedNode = isOverTitleBar ? null : tryFindChildNodeAt(e.getX(), e.getY());
+        // holding control or dragging a slider lets the wheel change slider precision instead of scrolling
+        boolean isWheelForRow = e.isControlDown() || (clickedNode != null && clickedNode.isCapturingMouseWheel());
+        if (isScrollable() && !isWheelForRow) {
+            // the rows get laid out again at the new scroll position in the next frame
+            requestedFirstVisibleRow -= e.getRotation() * rowsScrolledPerWheelNotch;
+            e.setConsumed(true);
+            return;
+        }
+        if (!isOverTitleBar) {
             if (clickedNode != null && clickedNode.isParentWindowVisible()) {
                 clickedNode.mouseWheelMovedOverNode(e.getX(), e.getY(), e.getRotation());
 //                e.setConsumed(true);
@@ -326,11 +717,21 @@ public class Window implements UserInputSubscriber {
         }
     }
 
+    // rows scrolled out of view keep their old coordinates, so only the visible ones can be hit
     private AbstractNode tryFindChildNodeAt(float x, float y) {
-        for (AbstractNode node : folder.children) {
-            if (isPointInRect(x, y, node.pos.x, node.pos.y, node.size.x, node.size.y)) {
-                return node;
-            }
+        RowIndex rows = rowIndex;
+        if (rows == null || firstVisibleRow >= getVisibleRowsEnd(rows)) {
+            return null;
+        }
+        // measured from where the first visible row was laid out, a drag handled earlier in the same frame can already have moved posY
+        AbstractNode firstNode = rows.getRow(firstVisibleRow);
+        int row = rows.findRowAt(y - firstNode.pos.y + rows.getRowTop(firstVisibleRow));
+        if (row < firstVisibleRow || row >= getVisibleRowsEnd(rows)) {
+            return null;
+        }
+        AbstractNode node = rows.getRow(row);
+        if (isPointInRect(x, y, node.pos.x, node.pos.y, node.size.x, node.size.y)) {
+            return node;
         }
         return null;
     }
@@ -379,7 +780,7 @@ public class Window implements UserInputSubscriber {
                 e.setConsumed(true);
             }
         } else {
-            NodeTree.setAllNodesMouseOverToFalse();
+            HoverStore.clearHoveredNode();
         }
     }
 
@@ -445,10 +846,12 @@ public class Window implements UserInputSubscriber {
     void close() {
         closed = true;
         isBeingDraggedAround = false;
+        WindowManager.onWindowClosed(this);
     }
 
     void open(boolean startDragging) {
         closed = false;
+        WindowManager.onWindowOpened(this, startDragging);
         if (startDragging) {
             isBeingDraggedAround = true;
             setFocusOnThis();
@@ -465,7 +868,6 @@ public class Window implements UserInputSubscriber {
 
     void setFocusOnThis() {
         WindowManager.setFocus(this);
-        UserInputPublisher.setFocus(this);
     }
 
     boolean isPointInsideContent(float x, float y) {
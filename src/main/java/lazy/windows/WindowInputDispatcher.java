@@ -0,0 +1,269 @@
+package lazy.windows;
+
+import lazy.LazyGui;
+import lazy.input.LazyKeyEvent;
+import lazy.input.LazyMouseEvent;
+import lazy.input.UserInputSubscriber;
+import lazy.stores.HoverStore;
+import lazy.stores.LayoutStore;
+import processing.core.PGraphics;
+
+import java.util.ArrayList;
+
+import static lazy.stores.GlobalReferences.app;
+import static processing.core.PApplet.*;
+
+/**
+ * Sends the sketch input events to the windows as a single input subscriber, so windows do not subscribe on their own.
+ * It only knows about open windows, each with a z-order stamp that goes up whenever the window gets focus,
+ * so opening, closing and focusing a window never copies or sorts anything.
+ * Mouse events go to the topmost open window under the cursor, found through a coarse grid over the canvas
+ * where every cell lists the open windows overlapping it. Drags and releases also go to the windows that got pressed
+ * or were opened while dragging, because those keep handling the mouse after it leaves them.
+ * The input events get handled on the animation thread like the window updates, so nothing here needs locking.
+ */
+class WindowInputDispatcher implements UserInputSubscriber {
+    private static final float gridCellSize = 128;
+
+    private final ArrayList<Window> openWindows = new ArrayList<>();
+    private final ArrayList<Window> capturingWindows = new ArrayList<>();
+    private ArrayList<Window>[] gridCells = newGridCells(0);
+    private int gridColumnCount = 0, gridRowCount = 0;
+    private long zOrderCounter = 0;
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static ArrayList<Window>[] newGridCells(int count) {
+        return (ArrayList<Window>[]) new ArrayList[count];
+    }
+
+    /**
+     * Gives the window a higher z-order than all the others.
+     * @param window window that gets focus or just got created
+     */
+    void raise(Window window) {
+        zOrderCounter++;
+        window.zOrder = zOrderCounter;
+    }
+
+    boolean isTopmost(Window window) {
+        return window.zOrder == zOrderCounter;
+    }
+
+    void onWindowOpened(Window window, boolean startedDragging) {
+        if (window.openWindowIndex == -1) {
+            window.openWindowIndex = openWindows.size();
+            openWindows.add(window);
+            insertIntoGrid(window);
+        }
+        if (startedDragging && !capturingWindows.contains(window)) {
+            capturingWindows.add(window);
+        }
+    }
+
+    void onWindowClosed(Window window) {
+        int index = window.openWindowIndex;
+        if (index == -1) {
+            return;
+        }
+        // swap the last open window into the gap, the order of this list does not matter
+        Window last = openWindows.remove(openWindows.size() - 1);
+        if (last != window) {
+            openWindows.set(index, last);
+            last.openWindowIndex = index;
+        }
+        window.openWindowIndex = -1;
+        removeFromGrid(window);
+    }
+
+    /**
+     * Moves the open windows to the grid cells they overlap after being laid out, only touching the cells of windows that moved.
+     * The whole grid gets rebuilt when the canvas changes size.
+     * @param canvas the canvas the windows get drawn on
+     */
+    void updateGrid(PGraphics canvas) {
+        int columnCount = max(1, ceil(canvas.width / gridCellSize));
+        int rowCount = max(1, ceil(canvas.height / gridCellSize));
+        if (columnCount != gridColumnCount || rowCount != gridRowCount) {
+            gridColumnCount = columnCount;
+            gridRowCount = rowCount;
+            gridCells = newGridCells(columnCount * rowCount);
+            for (Window window : openWindows) {
+                window.isInGrid = false;
+                insertIntoGrid(window);
+            }
+            return;
+        }
+        for (Window window : openWindows) {
+            updateGridCells(window);
+        }
+    }
+
+    private void updateGridCells(Window window) {
+        if (!window.isInGrid || getGridColumn(window.posX) != window.gridColumn0 || getGridRow(window.posY) != window.gridRow0 ||
+                getGridColumn(getHitAreaRight(window)) != window.gridColumn1 || getGridRow(window.posY + window.windowSizeY) != window.gridRow1) {
+            removeFromGrid(window);
+            insertIntoGrid(window);
+        }
+    }
+
+    private void insertIntoGrid(Window window) {
+        if (gridCells.length == 0) {
+            return;
+        }
+        window.gridColumn0 = getGridColumn(window.posX);
+        window.gridRow0 = getGridRow(window.posY);
+        window.gridColumn1 = getGridColumn(getHitAreaRight(window));
+        window.gridRow1 = getGridRow(window.posY + window.windowSizeY);
+        for (int row = window.gridRow0; row <= window.gridRow1; row++) {
+            for (int column = window.gridColumn0; column <= window.gridColumn1; column++) {
+                int cellIndex = row * gridColumnCount + column;
+                if (gridCells[cellIndex] == null) {
+                    gridCells[cellIndex] = new ArrayList<>();
+                }
+                gridCells[cellIndex].add(window);
+            }
+        }
+        window.isInGrid = true;
+    }
+
+    private void removeFromGrid(Window window) {
+        if (!window.isInGrid) {
+            return;
+        }
+        for (int row = window.gridRow0; row <= window.gridRow1; row++) {
+            for (int column = window.gridColumn0; column <= window.gridColumn1; column++) {
+                gridCells[row * gridColumnCount + column].remove(window);
+            }
+        }
+        window.isInGrid = false;
+    }
+
+    // windows and points outside the canvas land in the edge cells, the exact hit test sorts them out
+    private int getGridColumn(float x) {
+        return constrain(floor(x / gridCellSize), 0, gridColumnCount - 1);
+    }
+
+    private int getGridRow(float y) {
+        return constrain(floor(y / gridCellSize), 0, gridRowCount - 1);
+    }
+
+    private static float getHitAreaRight(Window window) {
+        return window.posX + window.windowSizeX + LayoutStore.getResizeRectangleSize() / 2f;
+    }
+
+    private Window findTopmostWindowAt(float x, float y) {
+        if (gridCells.length == 0) {
+            return null;
+        }
+        ArrayList<Window> candidates = gridCells[getGridRow(y) * gridColumnCount + getGridColumn(x)];
+        if (candidates == null) {
+            return null;
+        }
+        Window topmost = null;
+        for (Window window : candidates) {
+            if (!window.closed && (topmost == null || window.zOrder > topmost.zOrder) &&
+                    (window.isPointInsideWindow(x, y) || window.isPointInsideResizeBorder(x, y))) {
+                topmost = window;
+            }
+        }
+        return topmost;
+    }
+
+    // the windows that got pressed or opened while dragging and the window under the cursor, topmost first
+    private Window[] getDragReceivers(Window nullableWindowUnderCursor) {
+        ArrayList<Window> receivers = new ArrayList<>(capturingWindows);
+        if (nullableWindowUnderCursor != null && !receivers.contains(nullableWindowUnderCursor)) {
+            receivers.add(nullableWindowUnderCursor);
+        }
+        receivers.sort((a, b) -> Long.compare(b.zOrder, a.zOrder));
+        return receivers.toArray(new Window[0]);
+    }
+
+    @Override
+    public void mousePressed(LazyMouseEvent e) {
+        if (LazyGui.isGuiHidden) {
+            return;
+        }
+        Window target = findTopmostWindowAt(e.getX(), e.getY());
+        if (target == null) {
+            return;
+        }
+        capturingWindows.clear();
+        capturingWindows.add(target);
+        target.mousePressed(e);
+    }
+
+    @Override
+    public void mouseDragged(LazyMouseEvent e) {
+        for (Window window : getDragReceivers(null)) {
+            window.mouseDragged(e);
+            if (e.isConsumed()) {
+                break;
+            }
+        }
+        // the dragged window should be found under the cursor before the next frame updates the grid
+        for (Window window : capturingWindows) {
+            if (window.openWindowIndex != -1) {
+                updateGridCells(window);
+            }
+        }
+    }
+
+    @Override
+    public void mouseReleased(LazyMouseEvent e) {
+        Window underCursor = LazyGui.isGuiHidden ? null : findTopmostWindowAt(e.getX(), e.getY());
+        for (Window window : getDragReceivers(underCursor)) {
+            window.mouseReleased(e);
+            if (e.isConsumed()) {
+                break;
+            }
+        }
+        capturingWindows.clear();
+    }
+
+    @Override
+    public void mouseMoved(LazyMouseEvent e) {
+        if (LazyGui.isGuiHidden) {
+            return;
+        }
+        Window target = findTopmostWindowAt(e.getX(), e.getY());
+        if (target == null) {
+            HoverStore.clearHoveredNode();
+            return;
+        }
+        target.mouseMoved(e);
+    }
+
+    @Override
+    public void mouseWheelMoved(LazyMouseEvent e) {
+        if (LazyGui.isGuiHidden) {
+            return;
+        }
+        Window target = findTopmostWindowAt(e.getX(), e.getY());
+        if (target != null) {
+            target.mouseWheelMoved(e);
+        }
+    }
+
+    @Override
+    public void keyPressed(LazyKeyEvent e) {
+        if (LazyGui.isGuiHidden) {
+            return;
+        }
+        Window target = findTopmostWindowAt(app.mouseX, app.mouseY);
+        if (target != null) {
+            target.keyPressed(e);
+        }
+    }
+
+    @Override
+    public void keyReleased(LazyKeyEvent e) {
+        if (LazyGui.isGuiHidden) {
+            return;
+        }
+        Window target = findTopmostWindowAt(app.mouseX, app.mouseY);
+        if (target != null) {
+            target.keyReleased(e);
+        }
+    }
+}
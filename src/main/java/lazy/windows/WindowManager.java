@@ -1,26 +1,42 @@
 package lazy.windows;
 
+import lazy.input.UserInputPublisher;
 import lazy.nodes.FolderNode;
+import lazy.stores.FontStore;
+import lazy.stores.LayoutStore;
 import lazy.stores.NodeTree;
+import lazy.themes.ThemeColorType;
+import lazy.themes.ThemeStore;
 import lazy.utils.SnapToGrid;
 import processing.core.PGraphics;
 import processing.core.PVector;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
 import java.util.concurrent.CopyOnWriteArrayList;
 
 import static lazy.stores.LayoutStore.cell;
 
 public class WindowManager {
     private static final CopyOnWriteArrayList<Window> windows = new CopyOnWriteArrayList<>();
+    private static final List<Window> windowsReadOnly = Collections.unmodifiableList(windows);
     private static final ArrayList<Window> windowsToSetFocusOn = new ArrayList<>();
+    private static int culledWindowCount = 0;
+    private static final WindowInputDispatcher inputDispatcher = new WindowInputDispatcher();
 
     public static void addRootWindow() {
+        UserInputPublisher.subscribe(inputDispatcher);
         addWindow(new Window(NodeTree.getRoot(), cell, cell, null));
     }
 
     public static void addWindow(Window window) {
+        inputDispatcher.raise(window);
         windows.add(window);
+        if (!window.closed) {
+            inputDispatcher.onWindowOpened(window, false);
+        }
     }
 
     public static void uncoverOrCreateWindow(FolderNode folderNode){
@@ -55,6 +71,7 @@ public class WindowManager {
         }
         if(!windowFound){
             Window window = new Window(folderNode, pos.x, pos.y, nullableSizeX);
+            inputDispatcher.raise(window);
             windows.add(window);
             window.open(setFocus);
         }
@@ -69,27 +86,163 @@ public class WindowManager {
         }
     }
 
-    public static void updateAndDrawWindows(PGraphics pg) {
+    /**
+     * Moves newly focused windows to the top, keeps windows in the canvas bounds, culls the windows that would not be visible
+     * and re-renders the cached images of the windows whose content, hover state, theme, font or size changed since the last frame.
+     * Everything that changed on screen gets reported to the DirtyRegionStore.
+     * Must be called outside the beginDraw() and endDraw() of the gui canvas,
+     * because Processing does not restore the state of one offscreen canvas after drawing into another one in the middle of it.
+     * @param canvas the canvas the windows will get drawn on
+     */
+    public static void updateWindowImages(PGraphics canvas) {
+        List<Window> raisedWindows = Collections.emptyList();
         if(!windowsToSetFocusOn.isEmpty()){
-            for (Window w : windowsToSetFocusOn){
-                windows.remove(w);
-                windows.add(w);
-            }
+            raisedWindows = new ArrayList<>(windowsToSetFocusOn);
             windowsToSetFocusOn.clear();
+            // focusing only raised the z-order stamps, the drawing order catches up here with a single copy of the list
+            windows.sort(Comparator.comparingLong(w -> w.zOrder));
+        }
+        // new windows only ever get added at the end, so any opened while these get drawn keep the indices counted here valid
+        int windowCount = windows.size();
+        for (int i = 0; i < windowCount; i++) {
+            windows.get(i).updateLayout(canvas);
+        }
+        inputDispatcher.updateGrid(canvas);
+        int appearanceHash = getAppearanceHash();
+        boolean isBackgroundOpaque = alpha(ThemeStore.getColor(ThemeColorType.NORMAL_BACKGROUND)) == 255;
+        int culledCount = 0;
+        for (int i = 0; i < windowCount; i++) {
+            Window win = windows.get(i);
+            boolean culled = !win.closed && isCulled(i, windowCount, canvas, isBackgroundOpaque);
+            if (culled) {
+                culledCount++;
+            }
+            win.updateWindowImage(canvas, appearanceHash, raisedWindows.contains(win), culled);
         }
+        culledWindowCount = culledCount;
+    }
+
+    private static boolean isCulled(int index, int windowCount, PGraphics canvas, boolean isBackgroundOpaque) {
+        Window win = windows.get(index);
+        if (!LayoutStore.getShouldCullHiddenWindows() || win.isExemptFromCulling()) {
+            return false;
+        }
+        if (win.isOutsideCanvas(canvas)) {
+            return true;
+        }
+        if (!isBackgroundOpaque) {
+            return false;
+        }
+        for (int i = index + 1; i < windowCount; i++) {
+            if (windows.get(i).covers(win)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int alpha(int argb) {
+        return (argb >>> 24) & 0xFF;
+    }
+
+    /**
+     * Gets the number of open windows that were neither rendered nor drawn in the last update,
+     * because they were entirely outside the canvas or hidden behind a single window above them.
+     * @return count of culled windows
+     */
+    public static int getCulledWindowCount() {
+        return culledWindowCount;
+    }
+
+    // everything outside the nodes themselves that changes how all windows look
+    private static int getAppearanceHash() {
+        int hash = Float.floatToIntBits(cell);
+        for (ThemeColorType type : ThemeColorType.values()) {
+            hash = 31 * hash + ThemeStore.getColor(type);
+        }
+        hash = 31 * hash + System.identityHashCode(FontStore.getMainFont());
+        hash = 31 * hash + System.identityHashCode(FontStore.getSideFont());
+        hash = 31 * hash + Float.floatToIntBits(FontStore.textMarginX);
+        hash = 31 * hash + Float.floatToIntBits(FontStore.textMarginY);
+        hash = 31 * hash + (LayoutStore.isShowHorizontalSeparators() ? 1 : 0);
+        hash = 31 * hash + Float.floatToIntBits(LayoutStore.getHorizontalSeparatorStrokeWeight());
+        return hash;
+    }
+
+    public static void updateAndDrawWindows(PGraphics pg) {
         for (Window win : windows) {
             win.drawWindow(pg);
         }
     }
 
+    /**
+     * Draws only the windows that overlap a dirty region, expecting the canvas to be clipped to it.
+     * @param pg gui canvas
+     * @param region {x0, y0, x1, y1} rectangle to redraw
+     */
+    public static void drawWindowsInRegion(PGraphics pg, float[] region) {
+        for (Window win : windows) {
+            if (win.isDrawnInside(region)) {
+                win.drawWindow(pg);
+            }
+        }
+    }
+
+    /**
+     * Gets every window created so far including the closed ones, in the order they are drawn.
+     * @return read only view of all windows
+     */
+    public static List<Window> getWindows() {
+        return windowsReadOnly;
+    }
+
+    /**
+     * Hashes the order, openness, position and width of all windows, to notice windows moved by anything other than input,
+     * like loading a save or keeping them in bounds.
+     * @return hash of the state of every window
+     */
+    public static int getWindowStateHash() {
+        int hash = windowsToSetFocusOn.size();
+        for (Window w : windows) {
+            hash = 31 * hash + System.identityHashCode(w);
+            hash = 31 * hash + (w.closed ? 1 : 0);
+            hash = 31 * hash + Float.floatToIntBits(w.posX);
+            hash = 31 * hash + Float.floatToIntBits(w.posY);
+            hash = 31 * hash + Float.floatToIntBits(w.windowSizeX);
+        }
+        return hash;
+    }
+
+    public static Window getWindowBeingDraggedIfAny() {
+        for (Window w : windows) {
+            if (w.isBeingDraggedAround) {
+                return w;
+            }
+        }
+        return null;
+    }
+
     static boolean isFocused(Window window) {
-        return windows.get(windows.size()-1).equals(window);
+        return inputDispatcher.isTopmost(window);
     }
 
     public static void setFocus(Window window) {
+        inputDispatcher.raise(window);
         windowsToSetFocusOn.add(window);
     }
 
+    static void onWindowOpened(Window window, boolean startedDragging) {
+        inputDispatcher.onWindowOpened(window, startedDragging);
+    }
+
+    static void onWindowClosed(Window window) {
+        inputDispatcher.onWindowClosed(window);
+    }
+
+    public static void closeWindow(Window window) {
+        window.close();
+    }
+
     public static void closeAllWindows() {
         for(Window win : windows){
             if(!win.isRoot()){